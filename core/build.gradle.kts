@@ -1,5 +1,6 @@
 plugins {
     id("triumph.base")
+    alias(libs.plugins.jmh)
 }
 
 dependencies {
@@ -8,4 +9,21 @@ dependencies {
     compileOnly(libs.bundles.adventure)
 
     compileOnly(libs.guava)
-}
\ No newline at end of file
+
+    testImplementation(platform(libs.junit.bom))
+    testImplementation(libs.bundles.testing)
+    testImplementation(libs.guava)
+    testRuntimeOnly(libs.junit.launcher)
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+// Suggestion lookup benchmarks, run with `./gradlew :core:jmh`
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+}
@@ -0,0 +1,137 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the lookups of the suggestion indexes against filtering the plain list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuggestionLookupBenchmark {
+
+    private static final int LIMIT = 100;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    // A value with a typo, and the start of one
+    private String typo;
+    private String prefix;
+
+    private List<String> values;
+    private StaticSuggestionIndex index;
+    private SuggestionDictionary dictionary;
+    private MappedSuggestionDictionary mapped;
+    private Path mappedFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final Random random = new Random(42);
+        values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(word(random));
+        }
+
+        final String target = values.get(size / 2);
+        typo = target.substring(0, target.length() - 1) + (target.charAt(target.length() - 1) == 'a' ? 'b' : 'a');
+        prefix = target.substring(0, 3);
+
+        index = new StaticSuggestionIndex(values);
+        dictionary = new SuggestionDictionary(values);
+
+        mappedFile = Files.createTempFile("suggestions", ".tsd");
+        MappedSuggestionDictionary.write(mappedFile, values);
+        mapped = MappedSuggestionDictionary.open(mappedFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(mappedFile);
+    }
+
+    @Benchmark
+    public List<String> fuzzyList() {
+        return FuzzyMatcher.filter(typo, values, Function.identity(), LIMIT);
+    }
+
+    @Benchmark
+    public int[] fuzzyIndex() {
+        return index.fuzzy(typo, LIMIT);
+    }
+
+    @Benchmark
+    public List<String> fuzzyDictionary() {
+        return dictionary.fuzzy(typo, LIMIT);
+    }
+
+    @Benchmark
+    public List<String> fuzzyMapped() {
+        return mapped.fuzzy(typo, LIMIT);
+    }
+
+    @Benchmark
+    public int[] prefixIndex() {
+        return index.startingWith(prefix, LIMIT);
+    }
+
+    @Benchmark
+    public List<String> prefixDictionary() {
+        return dictionary.startingWith(prefix, LIMIT);
+    }
+
+    @Benchmark
+    public List<String> prefixMapped() {
+        return mapped.startingWith(prefix, LIMIT);
+    }
+
+    private static String word(final Random random) {
+        final int length = 4 + random.nextInt(9);
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+}
@@ -39,13 +39,22 @@ import dev.triumphteam.cmd.core.message.MessageResolver;
 import dev.triumphteam.cmd.core.message.context.MessageContext;
 import dev.triumphteam.cmd.core.requirement.RequirementKey;
 import dev.triumphteam.cmd.core.requirement.RequirementResolver;
+import dev.triumphteam.cmd.core.suggestion.AsyncSuggestionResolver;
+import dev.triumphteam.cmd.core.suggestion.MappedSuggestionDictionary;
+import dev.triumphteam.cmd.core.suggestion.SuggestionCachePolicy;
+import dev.triumphteam.cmd.core.suggestion.SuggestionDictionary;
 import dev.triumphteam.cmd.core.suggestion.SuggestionKey;
 import dev.triumphteam.cmd.core.suggestion.SuggestionMethod;
 import dev.triumphteam.cmd.core.suggestion.SuggestionResolver;
+import dev.triumphteam.cmd.core.suggestion.SuggestionSources;
 import org.jetbrains.annotations.NotNull;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 
 public abstract class CommandManager<M extends CommandManager<M, O, D, S, ST>, O extends CommandOptions<O, M, D, S, ST>, D, S, ST> {
@@ -293,6 +302,472 @@ public abstract class CommandManager<M extends CommandManager<M, O, D, S, ST>, O
         registryContainer.getSuggestionRegistry().registerRich(type, resolver, method, suggestionMapper);
     }
 
+    /**
+     * Registers a cached suggestion resolver using the default suggestion method.
+     * The resolved values are cached following the {@link SuggestionCachePolicy}.
+     *
+     * @param key         The {@link SuggestionKey} used to identify the suggestion resolver in the suggestion registry.
+     * @param resolver    The {@link SuggestionResolver.Simple} used to resolve suggestions in the form of {@link String} values.
+     * @param cachePolicy The {@link SuggestionCachePolicy} describing the scope, TTL, size and eviction of the cache.
+     */
+    public void registerSuggestion(
+            final @NotNull SuggestionKey key,
+            final @NotNull SuggestionResolver.Simple<S> resolver,
+            final @NotNull SuggestionCachePolicy cachePolicy
+    ) {
+        registerSuggestion(key, commandOptions.getDefaultSuggestionMethod(), resolver, cachePolicy);
+    }
+
+    /**
+     * Registers a cached suggestion resolver using the given suggestion method.
+     * The resolved values are cached following the {@link SuggestionCachePolicy}.
+     *
+     * @param key         The {@link SuggestionKey} used to identify the suggestion resolver in the suggestion registry.
+     * @param method      The {@link SuggestionMethod} defining how suggestions should be filtered or matched.
+     * @param resolver    The {@link SuggestionResolver.Simple} used to resolve suggestions in the form of {@link String} values.
+     * @param cachePolicy The {@link SuggestionCachePolicy} describing the scope, TTL, size and eviction of the cache.
+     */
+    public void registerSuggestion(
+            final @NotNull SuggestionKey key,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionResolver.Simple<S> resolver,
+            final @NotNull SuggestionCachePolicy cachePolicy
+    ) {
+        registryContainer.getSuggestionRegistry().register(key, resolver, method, suggestionMapper, cachePolicy);
+    }
+
+    /**
+     * Registers a cached rich suggestion resolver using the default suggestion method.
+     * The resolved values are cached following the {@link SuggestionCachePolicy}.
+     *
+     * @param key         The {@link SuggestionKey} used to identify the suggestion resolver in the suggestion registry.
+     * @param resolver    The {@link SuggestionResolver} used to resolve suggestions in the form of rich suggestion values.
+     * @param cachePolicy The {@link SuggestionCachePolicy} describing the scope, TTL, size and eviction of the cache.
+     */
+    public void registerRichSuggestion(
+            final @NotNull SuggestionKey key,
+            final @NotNull SuggestionResolver<S, ST> resolver,
+            final @NotNull SuggestionCachePolicy cachePolicy
+    ) {
+        registerRichSuggestion(key, commandOptions.getDefaultSuggestionMethod(), resolver, cachePolicy);
+    }
+
+    /**
+     * Registers a cached rich suggestion resolver using the given suggestion method.
+     * The resolved values are cached following the {@link SuggestionCachePolicy}.
+     *
+     * @param key         The {@link SuggestionKey} used to identify the suggestion resolver in the suggestion registry.
+     * @param method      The {@link SuggestionMethod} defining how suggestions should be filtered or matched.
+     * @param resolver    The {@link SuggestionResolver} used to resolve suggestions in the form of rich suggestion values.
+     * @param cachePolicy The {@link SuggestionCachePolicy} describing the scope, TTL, size and eviction of the cache.
+     */
+    public void registerRichSuggestion(
+            final @NotNull SuggestionKey key,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionResolver<S, ST> resolver,
+            final @NotNull SuggestionCachePolicy cachePolicy
+    ) {
+        registryContainer.getSuggestionRegistry().registerRich(key, resolver, method, suggestionMapper, cachePolicy);
+    }
+
+    /**
+     * Registers a cached suggestion resolver using the default suggestion method.
+     * The resolved values are cached following the {@link SuggestionCachePolicy}.
+     *
+     * @param type        The {@link Class} type that the suggestion resolver is associated with.
+     * @param resolver    The {@link SuggestionResolver.Simple} used to resolve suggestions in the form of {@link String} values.
+     * @param cachePolicy The {@link SuggestionCachePolicy} describing the scope, TTL, size and eviction of the cache.
+     */
+    public void registerSuggestion(
+            final @NotNull Class<?> type,
+            final @NotNull SuggestionResolver.Simple<S> resolver,
+            final @NotNull SuggestionCachePolicy cachePolicy
+    ) {
+        registerSuggestion(type, commandOptions.getDefaultSuggestionMethod(), resolver, cachePolicy);
+    }
+
+    /**
+     * Registers a cached suggestion resolver using the given suggestion method.
+     * The resolved values are cached following the {@link SuggestionCachePolicy}.
+     *
+     * @param type        The {@link Class} type that the suggestion resolver is associated with.
+     * @param method      The {@link SuggestionMethod} defining how suggestions should be filtered or matched.
+     * @param resolver    The {@link SuggestionResolver.Simple} used to resolve suggestions in the form of {@link String} values.
+     * @param cachePolicy The {@link SuggestionCachePolicy} describing the scope, TTL, size and eviction of the cache.
+     */
+    public void registerSuggestion(
+            final @NotNull Class<?> type,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionResolver.Simple<S> resolver,
+            final @NotNull SuggestionCachePolicy cachePolicy
+    ) {
+        registryContainer.getSuggestionRegistry().register(type, resolver, method, suggestionMapper, cachePolicy);
+    }
+
+    /**
+     * Registers a cached rich suggestion resolver using the default suggestion method.
+     * The resolved values are cached following the {@link SuggestionCachePolicy}.
+     *
+     * @param type        The {@link Class} type that the suggestion resolver is associated with.
+     * @param resolver    The {@link SuggestionResolver} used to resolve suggestions in the form of rich suggestion values.
+     * @param cachePolicy The {@link SuggestionCachePolicy} describing the scope, TTL, size and eviction of the cache.
+     */
+    public void registerRichSuggestion(
+            final @NotNull Class<?> type,
+            final @NotNull SuggestionResolver<S, ST> resolver,
+            final @NotNull SuggestionCachePolicy cachePolicy
+    ) {
+        registerRichSuggestion(type, commandOptions.getDefaultSuggestionMethod(), resolver, cachePolicy);
+    }
+
+    /**
+     * Registers a cached rich suggestion resolver using the given suggestion method.
+     * The resolved values are cached following the {@link SuggestionCachePolicy}.
+     *
+     * @param type        The {@link Class} type that the suggestion resolver is associated with.
+     * @param method      The {@link SuggestionMethod} defining how suggestions should be filtered or matched.
+     * @param resolver    The {@link SuggestionResolver} used to resolve suggestions in the form of rich suggestion values.
+     * @param cachePolicy The {@link SuggestionCachePolicy} describing the scope, TTL, size and eviction of the cache.
+     */
+    public void registerRichSuggestion(
+            final @NotNull Class<?> type,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionResolver<S, ST> resolver,
+            final @NotNull SuggestionCachePolicy cachePolicy
+    ) {
+        registryContainer.getSuggestionRegistry().registerRich(type, resolver, method, suggestionMapper, cachePolicy);
+    }
+
+    /**
+     * Registers a {@link SuggestionDictionary} using the default suggestion method.
+     * Dictionaries are meant for large sets of values, and can be changed after registration.
+     *
+     * @param key        The {@link SuggestionKey} used to identify the suggestions in the suggestion registry.
+     * @param dictionary The {@link SuggestionDictionary} holding the values.
+     */
+    public void registerSuggestion(final @NotNull SuggestionKey key, final @NotNull SuggestionDictionary dictionary) {
+        registerSuggestion(key, commandOptions.getDefaultSuggestionMethod(), dictionary);
+    }
+
+    /**
+     * Registers a {@link SuggestionDictionary} using the given suggestion method.
+     * Dictionaries are meant for large sets of values, and can be changed after registration.
+     *
+     * @param key        The {@link SuggestionKey} used to identify the suggestions in the suggestion registry.
+     * @param method     The {@link SuggestionMethod} defining how suggestions should be filtered or matched.
+     * @param dictionary The {@link SuggestionDictionary} holding the values.
+     */
+    public void registerSuggestion(
+            final @NotNull SuggestionKey key,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionDictionary dictionary
+    ) {
+        registryContainer.getSuggestionRegistry().registerDictionary(key, dictionary, method, suggestionMapper);
+    }
+
+    /**
+     * Registers a {@link SuggestionDictionary} using the default suggestion method.
+     * Dictionaries are meant for large sets of values, and can be changed after registration.
+     *
+     * @param type       The {@link Class} type that the suggestions are associated with.
+     * @param dictionary The {@link SuggestionDictionary} holding the values.
+     */
+    public void registerSuggestion(final @NotNull Class<?> type, final @NotNull SuggestionDictionary dictionary) {
+        registerSuggestion(type, commandOptions.getDefaultSuggestionMethod(), dictionary);
+    }
+
+    /**
+     * Registers a {@link SuggestionDictionary} using the given suggestion method.
+     * Dictionaries are meant for large sets of values, and can be changed after registration.
+     *
+     * @param type       The {@link Class} type that the suggestions are associated with.
+     * @param method     The {@link SuggestionMethod} defining how suggestions should be filtered or matched.
+     * @param dictionary The {@link SuggestionDictionary} holding the values.
+     */
+    public void registerSuggestion(
+            final @NotNull Class<?> type,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionDictionary dictionary
+    ) {
+        registryContainer.getSuggestionRegistry().registerDictionary(type, dictionary, method, suggestionMapper);
+    }
+
+    /**
+     * Registers a {@link MappedSuggestionDictionary} using the default suggestion method.
+     * Mapped dictionaries are read from a file instead of the heap, and follow changes to it.
+     *
+     * @param key        The {@link SuggestionKey} used to identify the suggestions in the suggestion registry.
+     * @param dictionary The {@link MappedSuggestionDictionary} holding the values.
+     */
+    public void registerSuggestion(final @NotNull SuggestionKey key, final @NotNull MappedSuggestionDictionary dictionary) {
+        registerSuggestion(key, commandOptions.getDefaultSuggestionMethod(), dictionary);
+    }
+
+    /**
+     * Registers a {@link MappedSuggestionDictionary} using the given suggestion method.
+     * Mapped dictionaries are read from a file instead of the heap, and follow changes to it.
+     *
+     * @param key        The {@link SuggestionKey} used to identify the suggestions in the suggestion registry.
+     * @param method     The {@link SuggestionMethod} defining how suggestions should be filtered or matched.
+     * @param dictionary The {@link MappedSuggestionDictionary} holding the values.
+     */
+    public void registerSuggestion(
+            final @NotNull SuggestionKey key,
+            final @NotNull SuggestionMethod method,
+            final @NotNull MappedSuggestionDictionary dictionary
+    ) {
+        registryContainer.getSuggestionRegistry().registerDictionary(key, dictionary, method, suggestionMapper);
+    }
+
+    /**
+     * Registers a {@link MappedSuggestionDictionary} using the default suggestion method.
+     * Mapped dictionaries are read from a file instead of the heap, and follow changes to it.
+     *
+     * @param type       The {@link Class} type that the suggestions are associated with.
+     * @param dictionary The {@link MappedSuggestionDictionary} holding the values.
+     */
+    public void registerSuggestion(final @NotNull Class<?> type, final @NotNull MappedSuggestionDictionary dictionary) {
+        registerSuggestion(type, commandOptions.getDefaultSuggestionMethod(), dictionary);
+    }
+
+    /**
+     * Registers a {@link MappedSuggestionDictionary} using the given suggestion method.
+     * Mapped dictionaries are read from a file instead of the heap, and follow changes to it.
+     *
+     * @param type       The {@link Class} type that the suggestions are associated with.
+     * @param method     The {@link SuggestionMethod} defining how suggestions should be filtered or matched.
+     * @param dictionary The {@link MappedSuggestionDictionary} holding the values.
+     */
+    public void registerSuggestion(
+            final @NotNull Class<?> type,
+            final @NotNull SuggestionMethod method,
+            final @NotNull MappedSuggestionDictionary dictionary
+    ) {
+        registryContainer.getSuggestionRegistry().registerDictionary(type, dictionary, method, suggestionMapper);
+    }
+
+    /**
+     * Registers an asynchronous suggestion resolver using the specified key and the default suggestion method.
+     * Platforms that support it complete these suggestions off their main thread.
+     *
+     * @param key      The {@link SuggestionKey} used to identify the suggestion resolver in the suggestion registry.
+     * @param resolver The {@link AsyncSuggestionResolver.Simple} used to resolve suggestions in the form of {@link String} values.
+     */
+    public void registerAsyncSuggestion(final @NotNull SuggestionKey key, final @NotNull AsyncSuggestionResolver.Simple<S> resolver) {
+        registerAsyncSuggestion(key, commandOptions.getDefaultSuggestionMethod(), resolver);
+    }
+
+    /**
+     * Registers an asynchronous suggestion resolver using the specified key and suggestion method.
+     * Platforms that support it complete these suggestions off their main thread.
+     *
+     * @param key      The {@link SuggestionKey} used to identify the suggestion resolver in the suggestion registry.
+     * @param method   The {@link SuggestionMethod} defining how suggestions should be filtered or matched.
+     * @param resolver The {@link AsyncSuggestionResolver.Simple} used to resolve suggestions in the form of {@link String} values.
+     */
+    public void registerAsyncSuggestion(
+            final @NotNull SuggestionKey key,
+            final @NotNull SuggestionMethod method,
+            final @NotNull AsyncSuggestionResolver.Simple<S> resolver
+    ) {
+        registryContainer.getSuggestionRegistry().registerAsync(key, resolver, method, suggestionMapper);
+    }
+
+    /**
+     * Registers an asynchronous rich suggestion resolver using the specified key and the default suggestion method.
+     * Platforms that support it complete these suggestions off their main thread.
+     *
+     * @param key      The {@link SuggestionKey} used to identify the suggestion resolver in the suggestion registry.
+     * @param resolver The {@link AsyncSuggestionResolver} used to resolve suggestions in the form of rich suggestion values.
+     */
+    public void registerAsyncRichSuggestion(final @NotNull SuggestionKey key, final @NotNull AsyncSuggestionResolver<S, ST> resolver) {
+        registerAsyncRichSuggestion(key, commandOptions.getDefaultSuggestionMethod(), resolver);
+    }
+
+    /**
+     * Registers an asynchronous rich suggestion resolver using the specified key and suggestion method.
+     * Platforms that support it complete these suggestions off their main thread.
+     *
+     * @param key      The {@link SuggestionKey} used to identify the suggestion resolver in the suggestion registry.
+     * @param method   The {@link SuggestionMethod} defining how suggestions should be filtered or matched.
+     * @param resolver The {@link AsyncSuggestionResolver} used to resolve suggestions in the form of rich suggestion values.
+     */
+    public void registerAsyncRichSuggestion(
+            final @NotNull SuggestionKey key,
+            final @NotNull SuggestionMethod method,
+            final @NotNull AsyncSuggestionResolver<S, ST> resolver
+    ) {
+        registryContainer.getSuggestionRegistry().registerAsyncRich(key, resolver, method, suggestionMapper);
+    }
+
+    /**
+     * Registers an asynchronous suggestion resolver for a specific type using the default suggestion method.
+     * Platforms that support it complete these suggestions off their main thread.
+     *
+     * @param type     The {@link Class} type that the suggestion resolver is associated with.
+     * @param resolver The {@link AsyncSuggestionResolver.Simple} used to resolve suggestions in the form of {@link String} values.
+     */
+    public void registerAsyncSuggestion(final @NotNull Class<?> type, final @NotNull AsyncSuggestionResolver.Simple<S> resolver) {
+        registerAsyncSuggestion(type, commandOptions.getDefaultSuggestionMethod(), resolver);
+    }
+
+    /**
+     * Registers an asynchronous suggestion resolver for a specific type using the given suggestion method.
+     * Platforms that support it complete these suggestions off their main thread.
+     *
+     * @param type     The {@link Class} type that the suggestion resolver is associated with.
+     * @param method   The {@link SuggestionMethod} defining how suggestions should be filtered or matched.
+     * @param resolver The {@link AsyncSuggestionResolver.Simple} used to resolve suggestions in the form of {@link String} values.
+     */
+    public void registerAsyncSuggestion(
+            final @NotNull Class<?> type,
+            final @NotNull SuggestionMethod method,
+            final @NotNull AsyncSuggestionResolver.Simple<S> resolver
+    ) {
+        registryContainer.getSuggestionRegistry().registerAsync(type, resolver, method, suggestionMapper);
+    }
+
+    /**
+     * Registers an asynchronous rich suggestion resolver for a specific type using the default suggestion method.
+     * Platforms that support it complete these suggestions off their main thread.
+     *
+     * @param type     The {@link Class} type that the suggestion resolver is associated with.
+     * @param resolver The {@link AsyncSuggestionResolver} used to resolve suggestions in the form of rich suggestion values.
+     */
+    public void registerAsyncRichSuggestion(final @NotNull Class<?> type, final @NotNull AsyncSuggestionResolver<S, ST> resolver) {
+        registerAsyncRichSuggestion(type, commandOptions.getDefaultSuggestionMethod(), resolver);
+    }
+
+    /**
+     * Registers an asynchronous rich suggestion resolver for a specific type using the given suggestion method.
+     * Platforms that support it complete these suggestions off their main thread.
+     *
+     * @param type     The {@link Class} type that the suggestion resolver is associated with.
+     * @param method   The {@link SuggestionMethod} defining how suggestions should be filtered or matched.
+     * @param resolver The {@link AsyncSuggestionResolver} used to resolve suggestions in the form of rich suggestion values.
+     */
+    public void registerAsyncRichSuggestion(
+            final @NotNull Class<?> type,
+            final @NotNull SuggestionMethod method,
+            final @NotNull AsyncSuggestionResolver<S, ST> resolver
+    ) {
+        registryContainer.getSuggestionRegistry().registerAsyncRich(type, resolver, method, suggestionMapper);
+    }
+
+    /**
+     * Registers a suggestion that merges the suggestions registered with the given keys, using the default suggestion method.
+     * The sources are queried in parallel, and the ones that miss their deadline don't hold the others back.
+     * Every source must be registered before the composite suggestion.
+     *
+     * @param key     The {@link SuggestionKey} used to identify the composite suggestion in the suggestion registry.
+     * @param sources The {@link SuggestionSources} to merge.
+     */
+    public void registerCompositeSuggestion(final @NotNull SuggestionKey key, final @NotNull SuggestionSources sources) {
+        registerCompositeSuggestion(key, commandOptions.getDefaultSuggestionMethod(), sources);
+    }
+
+    /**
+     * Registers a suggestion that merges the suggestions registered with the given keys.
+     * The sources are queried in parallel, and the ones that miss their deadline don't hold the others back.
+     * Every source must be registered before the composite suggestion.
+     *
+     * @param key     The {@link SuggestionKey} used to identify the composite suggestion in the suggestion registry.
+     * @param method  The {@link SuggestionMethod} used to filter the fallback values of late sources.
+     * @param sources The {@link SuggestionSources} to merge.
+     */
+    public void registerCompositeSuggestion(
+            final @NotNull SuggestionKey key,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionSources sources
+    ) {
+        registryContainer.getSuggestionRegistry().registerComposite(key, sources, method, suggestionMapper);
+    }
+
+    /**
+     * Registers a suggestion for a specific type that merges the suggestions registered with the given keys,
+     * using the default suggestion method.
+     * Every source must be registered before the composite suggestion.
+     *
+     * @param type    The {@link Class} type that the suggestion is associated with.
+     * @param sources The {@link SuggestionSources} to merge.
+     */
+    public void registerCompositeSuggestion(final @NotNull Class<?> type, final @NotNull SuggestionSources sources) {
+        registerCompositeSuggestion(type, commandOptions.getDefaultSuggestionMethod(), sources);
+    }
+
+    /**
+     * Registers a suggestion for a specific type that merges the suggestions registered with the given keys.
+     * Every source must be registered before the composite suggestion.
+     *
+     * @param type    The {@link Class} type that the suggestion is associated with.
+     * @param method  The {@link SuggestionMethod} used to filter the fallback values of late sources.
+     * @param sources The {@link SuggestionSources} to merge.
+     */
+    public void registerCompositeSuggestion(
+            final @NotNull Class<?> type,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionSources sources
+    ) {
+        registryContainer.getSuggestionRegistry().registerComposite(type, sources, method, suggestionMapper);
+    }
+
+    /**
+     * Clears the cached results of the suggestion registered with the given key.
+     *
+     * @param key The {@link SuggestionKey} of the cached suggestion.
+     */
+    public void invalidateSuggestions(final @NotNull SuggestionKey key) {
+        registryContainer.getSuggestionRegistry().invalidate(key);
+    }
+
+    /**
+     * Clears the cached results of the suggestion registered for the given type.
+     *
+     * @param type The {@link Class} type of the cached suggestion.
+     */
+    public void invalidateSuggestions(final @NotNull Class<?> type) {
+        registryContainer.getSuggestionRegistry().invalidate(type);
+    }
+
+    /**
+     * Clears the suggestion results cached for the given sender.
+     *
+     * @param sender The sender to clear.
+     */
+    public void invalidateSenderSuggestions(final @NotNull S sender) {
+        registryContainer.getSuggestionRegistry().invalidateSender(sender);
+    }
+
+    /**
+     * Resolves the prefetchable cached suggestions for the sender in the background, see {@link SuggestionCachePolicy.Builder#prefetch()}.
+     * Platforms call this when a sender's session starts, pair it with {@link #invalidateSenderSuggestions(Object)} when it ends,
+     * and cancel the returned future if it's still running then.
+     *
+     * @param sender The sender whose session started.
+     * @return A future completing once the suggestions are cached.
+     */
+    public @NotNull CompletableFuture<Void> prefetchSuggestions(final @NotNull S sender) {
+        return prefetchSuggestions(sender, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Resolves the prefetchable cached suggestions for the sender in the background, see {@link SuggestionCachePolicy.Builder#prefetch()}.
+     *
+     * @param sender   The sender whose session started.
+     * @param executor The executor to resolve the suggestions on.
+     * @return A future completing once the suggestions are cached.
+     */
+    public @NotNull CompletableFuture<Void> prefetchSuggestions(final @NotNull S sender, final @NotNull Executor executor) {
+        return registryContainer.getSuggestionRegistry().prefetch(sender, executor);
+    }
+
+    /**
+     * Clears all cached suggestion results.
+     */
+    public void invalidateAllSuggestions() {
+        registryContainer.getSuggestionRegistry().invalidateAll();
+    }
+
     /**
      * Registers a list of arguments to be used as named arguments in a command.
      *
@@ -359,6 +834,45 @@ public abstract class CommandManager<M extends CommandManager<M, O, D, S, ST>, O
         getRegistryContainer().getRequirementRegistry().register(key, resolver);
     }
 
+    /**
+     * Registers a requirement whose results are cached per sender and command.
+     * Results of {@link RequirementResolver#isMetaIndependent() meta independent} resolvers are cached per sender only,
+     * and shared by every command using the requirement.
+     *
+     * @param key      The {@link RequirementKey} of the requirement to be registered.
+     * @param resolver The {@link RequirementResolver} with the requirement resolution.
+     * @param ttl      How long the result of a sender is kept, see {@link #invalidateSenderRequirements(Object)} to clear it sooner.
+     */
+    public final void registerRequirement(
+            final @NotNull RequirementKey key,
+            final @NotNull RequirementResolver<D, S> resolver,
+            final @NotNull Duration ttl
+    ) {
+        getRegistryContainer().getRequirementRegistry().register(key, resolver, ttl);
+    }
+
+    /**
+     * Clears the cached results of the requirement with the given key.
+     *
+     * @param key The {@link RequirementKey} of the cached requirement.
+     */
+    public void invalidateRequirements(final @NotNull RequirementKey key) {
+        registryContainer.getRequirementRegistry().invalidate(key);
+    }
+
+    /**
+     * Clears the requirement results cached for the given sender, like when their permissions or state change.
+     *
+     * @param sender The sender to clear.
+     */
+    public void invalidateSenderRequirements(final @NotNull S sender) {
+        registryContainer.getRequirementRegistry().invalidateSender(sender);
+    }
+
+    public void invalidateAllRequirements() {
+        registryContainer.getRequirementRegistry().invalidateAll();
+    }
+
     protected final @NotNull RegistryContainer<D, S, ST> getRegistryContainer() {
         return registryContainer;
     }
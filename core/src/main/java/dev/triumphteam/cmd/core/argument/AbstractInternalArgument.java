@@ -29,9 +29,14 @@ import dev.triumphteam.cmd.core.suggestion.InternalSuggestion;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Command internalArgument.
@@ -74,10 +79,53 @@ public abstract class AbstractInternalArgument<S, ST> implements InternalArgumen
             final @NotNull S sender,
             final @NotNull String current,
             final @NotNull List<String> arguments,
-            final @NotNull Map<String, String> argumentsMap
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
     ) {
-        if (!(suggestion instanceof InternalSuggestion.Simple)) return Collections.emptyList();
-        return ((InternalSuggestion.Simple<S, ST>) suggestion).getSuggestions(sender, current, arguments, argumentsMap);
+        if (suggestion instanceof InternalSuggestion.Simple) {
+            return ((InternalSuggestion.Simple<S, ST>) suggestion).getSuggestions(sender, current, arguments, argumentsMap, limit);
+        }
+
+        if (!(suggestion instanceof InternalSuggestion.Async)) return Collections.emptyList();
+
+        // The arguments may be reused once this returns, so the ones handed to work that outlives the call are copied
+        final InternalSuggestion.Async<S, ST> async = (InternalSuggestion.Async<S, ST>) suggestion;
+        final CompletableFuture<List<ST>> future = async.getSuggestionsAsync(sender, current, new ArrayList<>(arguments), new HashMap<>(argumentsMap), limit)
+                .toCompletableFuture();
+        return await(future);
+    }
+
+    /**
+     * Blocking callers, like platforms without asynchronous tab completion, often run on the main thread,
+     * so they never wait and only get asynchronous suggestions that are already done, for example cached ones.
+     * Anything still running is left to finish, so a cache it fills is ready for the next keystroke.
+     */
+    private static <ST> @NotNull List<ST> await(final @NotNull CompletableFuture<List<ST>> future) {
+        if (!future.isDone() || future.isCancelled()) return Collections.emptyList();
+
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    @Override
+    public @NotNull CompletionStage<List<ST>> suggestionsAsync(
+            final @NotNull S sender,
+            final @NotNull String current,
+            final @NotNull List<String> arguments,
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
+    ) {
+        if (suggestion instanceof InternalSuggestion.Async) {
+            return ((InternalSuggestion.Async<S, ST>) suggestion).getSuggestionsAsync(sender, current, arguments, argumentsMap, limit);
+        }
+
+        return CompletableFuture.completedFuture(suggestions(sender, current, arguments, argumentsMap, limit));
     }
 
     @Override
@@ -42,4 +42,36 @@ public interface ArgumentResolver<S> {
      * @return An Object with the resolved value or null.
      */
     @Nullable Object resolve(final @NotNull S sender, final @NotNull String argument);
+
+    /**
+     * Whether the value can be resolved ahead of time while the sender is still typing, and reused on execution.
+     * Only used when speculative resolution is enabled in the command options.
+     * Resolvers with side effects, or whose values go stale quickly, should return false.
+     *
+     * @return Whether the resolver allows speculative resolution.
+     */
+    default boolean isSpeculative() {
+        return true;
+    }
+
+    /**
+     * Wraps a resolver so it is never resolved ahead of time.
+     *
+     * @param resolver The resolver to wrap.
+     * @param <S>      The sender type.
+     * @return A resolver that opts out of speculative resolution.
+     */
+    static <S> @NotNull ArgumentResolver<S> nonSpeculative(final @NotNull ArgumentResolver<S> resolver) {
+        return new ArgumentResolver<S>() {
+            @Override
+            public @Nullable Object resolve(final @NotNull S sender, final @NotNull String argument) {
+                return resolver.resolve(sender, argument);
+            }
+
+            @Override
+            public boolean isSpeculative() {
+                return false;
+            }
+        };
+    }
 }
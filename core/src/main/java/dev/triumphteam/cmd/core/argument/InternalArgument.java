@@ -34,6 +34,8 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BiFunction;
 
 /**
@@ -89,13 +91,53 @@ public interface InternalArgument<S, ST> extends CommandMetaContainer {
 
     @NotNull InternalArgumentResult resolve(final @NotNull S sender, final @NotNull ArgumentInput input);
 
-    @NotNull List<ST> suggestions(
+    default @NotNull List<ST> suggestions(
             final @NotNull S sender,
             final @NotNull String current,
             final @NotNull List<String> arguments,
             final @NotNull Map<String, String> argumentsMap
+    ) {
+        return suggestions(sender, current, arguments, argumentsMap, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the suggestions for the current input, returning at most {@code limit} of them.
+     *
+     * @param sender       The sender requesting the suggestions.
+     * @param current      The current input.
+     * @param arguments    The arguments typed so far.
+     * @param argumentsMap The arguments typed so far, by name.
+     * @param limit        The maximum amount of suggestions to return.
+     * @return The first matching suggestions.
+     */
+    @NotNull List<ST> suggestions(
+            final @NotNull S sender,
+            final @NotNull String current,
+            final @NotNull List<String> arguments,
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
     );
 
+    /**
+     * Gets the suggestions for the current input without blocking on asynchronous suggestions.
+     *
+     * @param sender       The sender requesting the suggestions.
+     * @param current      The current input.
+     * @param arguments    The arguments typed so far.
+     * @param argumentsMap The arguments typed so far, by name.
+     * @param limit        The maximum amount of suggestions to return.
+     * @return A stage completing with the first matching suggestions.
+     */
+    default @NotNull CompletionStage<List<ST>> suggestionsAsync(
+            final @NotNull S sender,
+            final @NotNull String current,
+            final @NotNull List<String> arguments,
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
+    ) {
+        return CompletableFuture.completedFuture(suggestions(sender, current, arguments, argumentsMap, limit));
+    }
+
     @NotNull InternalSuggestion<S, ST> getSuggestion();
 
     @FunctionalInterface
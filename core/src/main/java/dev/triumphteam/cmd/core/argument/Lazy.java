@@ -0,0 +1,125 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.argument;
+
+import dev.triumphteam.cmd.core.extension.InternalArgumentResult;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An argument that is only resolved the first time its value is requested.
+ * Useful for arguments that are expensive to resolve and are not always used by the command.
+ * Can be declared as either {@code Lazy<T>} or {@code Supplier<T>} in the command method.
+ *
+ * @param <T> The type of the argument.
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    private static final Lazy<?> EMPTY = new Lazy<>("", () -> InternalArgument.valid(""), invalid -> {});
+
+    private final String input;
+    private final Consumer<InternalArgumentResult.Invalid> onInvalid;
+
+    private Supplier<InternalArgumentResult> resolver;
+    private volatile boolean resolved = false;
+    private T value = null;
+
+    Lazy(
+            final @NotNull String input,
+            final @NotNull Supplier<InternalArgumentResult> resolver,
+            final @NotNull Consumer<InternalArgumentResult.Invalid> onInvalid
+    ) {
+        this.input = input;
+        this.resolver = resolver;
+        this.onInvalid = onInvalid;
+    }
+
+    /**
+     * A lazy argument for when nothing was typed, it'll always return null.
+     *
+     * @param <T> The type of the argument.
+     * @return An empty {@link Lazy}.
+     */
+    @Contract(pure = true)
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull Lazy<T> empty() {
+        return (Lazy<T>) EMPTY;
+    }
+
+    /**
+     * Resolves the argument on the first call, later calls return the same value.
+     * If the input is invalid the sender receives the invalid argument message and null is returned.
+     *
+     * @return The resolved value, or null if there was no input or it was invalid.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable T get() {
+        if (this == EMPTY) return null;
+        if (resolved) return value;
+
+        synchronized (this) {
+            if (resolved) return value;
+
+            final InternalArgumentResult result = resolver.get();
+            if (result instanceof InternalArgumentResult.Valid) {
+                value = (T) ((InternalArgumentResult.Valid) result).getValue();
+            } else if (result instanceof InternalArgumentResult.Invalid) {
+                onInvalid.accept((InternalArgumentResult.Invalid) result);
+            }
+
+            // No longer needed, let it be collected
+            resolver = null;
+            resolved = true;
+        }
+
+        return value;
+    }
+
+    /**
+     * @return The raw input typed for this argument.
+     */
+    public @NotNull String getInput() {
+        return input;
+    }
+
+    /**
+     * @return Whether the argument has already been resolved.
+     */
+    public boolean isResolved() {
+        return this == EMPTY || resolved;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "Lazy{" +
+                "input='" + input + '\'' +
+                ", resolved=" + resolved +
+                '}';
+    }
+}
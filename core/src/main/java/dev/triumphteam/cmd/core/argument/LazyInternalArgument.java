@@ -0,0 +1,89 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.argument;
+
+import dev.triumphteam.cmd.core.command.ArgumentInput;
+import dev.triumphteam.cmd.core.extension.InternalArgumentResult;
+import dev.triumphteam.cmd.core.extension.meta.CommandMeta;
+import dev.triumphteam.cmd.core.suggestion.InternalSuggestion;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * Argument that wraps another {@link StringInternalArgument} into a {@link Lazy}.
+ * The wrapped argument is only resolved when the command asks for the value.
+ *
+ * @param <S> The sender type.
+ */
+public final class LazyInternalArgument<S, ST> extends StringInternalArgument<S, ST> {
+
+    private final StringInternalArgument<S, ST> internalArgument;
+
+    public LazyInternalArgument(
+            final @NotNull CommandMeta meta,
+            final @NotNull String name,
+            final @NotNull String description,
+            final @NotNull StringInternalArgument<S, ST> internalArgument,
+            final @NotNull InternalSuggestion<S, ST> suggestion,
+            final @Nullable String defaultValue,
+            final boolean optional
+    ) {
+        super(meta, name, description, Lazy.class, suggestion, defaultValue, optional);
+        this.internalArgument = internalArgument;
+    }
+
+    @Override
+    public @NotNull InternalArgumentResult resolve(final @NotNull S sender, final @NotNull ArgumentInput input) {
+        return resolve(sender, input, invalid -> {});
+    }
+
+    /**
+     * Creates the {@link Lazy} for the input, without resolving it.
+     *
+     * @param sender    The sender to resolve to.
+     * @param input     The input of the argument.
+     * @param onInvalid What to do if the input turns out to be invalid once resolved.
+     * @return A valid result containing the {@link Lazy}.
+     */
+    public @NotNull InternalArgumentResult resolve(
+            final @NotNull S sender,
+            final @NotNull ArgumentInput input,
+            final @NotNull Consumer<InternalArgumentResult.Invalid> onInvalid
+    ) {
+        return InternalArgument.valid(new Lazy<>(input.getInput(), () -> internalArgument.resolve(sender, input), onInvalid));
+    }
+
+    public @NotNull StringInternalArgument<S, ST> getInternalArgument() {
+        return internalArgument;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "LazyArgument{" +
+                "internalArgument=" + internalArgument +
+                ", super=" + super.toString() + "}";
+    }
+}
@@ -75,6 +75,13 @@ public final class ResolverInternalArgument<S, ST> extends StringInternalArgumen
         return InternalArgument.valid(result);
     }
 
+    /**
+     * @return Whether the resolver allows the value to be resolved ahead of time.
+     */
+    public boolean isSpeculative() {
+        return resolver.isSpeculative();
+    }
+
     @Override
     public @NotNull String toString() {
         return "ResolverArgument{" +
@@ -0,0 +1,160 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.argument;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Holds the values resolved while a sender was still typing the command.
+ * When tab completing, the already completed tokens are resolved ahead of time,
+ * so when the command is executed with the exact same tokens the value can be reused.
+ * Senders are weakly held, and values are only reused within the configured time to live.
+ *
+ * @param <S> The sender type.
+ */
+public final class SpeculationCache<S> {
+
+    private final Map<S, Map<InternalArgument<?, ?>, Entry>> cache = new WeakHashMap<>();
+    private final long ttl;
+
+    public SpeculationCache(final @NotNull Duration ttl) {
+        this.ttl = ttl.toNanos();
+    }
+
+    /**
+     * Checks if there is a live value for the argument with the exact same input.
+     *
+     * @param sender   The sender typing the command.
+     * @param argument The argument the value belongs to.
+     * @param input    The raw input of the argument.
+     * @return Whether a value is already cached.
+     */
+    public boolean contains(final @NotNull S sender, final @NotNull InternalArgument<?, ?> argument, final @NotNull String input) {
+        synchronized (cache) {
+            final Map<InternalArgument<?, ?>, Entry> entries = cache.get(sender);
+            if (entries == null) return false;
+
+            final Entry entry = entries.get(argument);
+            return entry != null && entry.matches(input, System.nanoTime());
+        }
+    }
+
+    /**
+     * Caches a value resolved ahead of time, replacing any previous one for the same argument.
+     *
+     * @param sender   The sender typing the command.
+     * @param argument The argument the value belongs to.
+     * @param input    The raw input of the argument.
+     * @param value    The resolved value.
+     */
+    public void put(
+            final @NotNull S sender,
+            final @NotNull InternalArgument<?, ?> argument,
+            final @NotNull String input,
+            final @NotNull Object value
+    ) {
+        final long now = System.nanoTime();
+
+        synchronized (cache) {
+            final Map<InternalArgument<?, ?>, Entry> entries = cache.computeIfAbsent(sender, it -> new HashMap<>());
+
+            // Clean up whatever expired so abandoned commands don't pile up
+            final Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isExpired(now)) iterator.remove();
+            }
+
+            entries.put(argument, new Entry(input, value, now + ttl));
+        }
+    }
+
+    /**
+     * Takes the value cached for the argument, it'll only be used once.
+     *
+     * @param sender   The sender executing the command.
+     * @param argument The argument being resolved.
+     * @param input    The raw input of the argument.
+     * @return The cached value, or null if there is none, it expired, or the input is different.
+     */
+    public @Nullable Object take(final @NotNull S sender, final @NotNull InternalArgument<?, ?> argument, final @NotNull String input) {
+        synchronized (cache) {
+            final Map<InternalArgument<?, ?>, Entry> entries = cache.get(sender);
+            if (entries == null) return null;
+
+            final Entry entry = entries.remove(argument);
+            if (entries.isEmpty()) cache.remove(sender);
+
+            if (entry == null || !entry.matches(input, System.nanoTime())) return null;
+            return entry.value;
+        }
+    }
+
+    /**
+     * Removes everything cached for the sender.
+     *
+     * @param sender The sender to invalidate.
+     */
+    public void invalidate(final @NotNull S sender) {
+        synchronized (cache) {
+            cache.remove(sender);
+        }
+    }
+
+    /**
+     * Removes everything cached for all senders.
+     */
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static final class Entry {
+
+        private final String input;
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(final @NotNull String input, final @NotNull Object value, final long expiresAt) {
+            this.input = input;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(final long now) {
+            return now - expiresAt > 0;
+        }
+
+        private boolean matches(final @NotNull String input, final long now) {
+            return !isExpired(now) && this.input.equals(input);
+        }
+    }
+}
@@ -73,6 +73,36 @@ public interface ArgumentGroup<T> {
      */
     @Nullable T matchPartialSingle(final @NotNull String token);
 
+    /**
+     * Gets the ordinal of the argument that matches the given name exactly.
+     * Ordinals are dense and assigned in registration order, so they can be used to index arrays.
+     *
+     * @param name The argument name, with or without its prefix.
+     * @return The ordinal of the argument or -1 if no argument has the name.
+     */
+    int ordinalOf(final @NotNull String name);
+
+    /**
+     * Gets the ordinal of an argument that belongs to this group.
+     *
+     * @param argument An argument returned by this group.
+     * @return The ordinal of the argument or -1 if it is not part of this group.
+     */
+    int ordinalOf(final @NotNull T argument);
+
+    /**
+     * Gets the argument registered with the given ordinal.
+     *
+     * @param ordinal The ordinal of the argument, must be lower than {@link #size()}.
+     * @return The argument with the ordinal.
+     */
+    @NotNull T getByOrdinal(final int ordinal);
+
+    /**
+     * @return The amount of arguments in the group, which is also the upper bound of the ordinals.
+     */
+    int size();
+
     /**
      * Gets a list with all possible argument names.
      *
@@ -29,10 +29,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 final class ArgumentParser {
 
@@ -61,75 +58,107 @@ final class ArgumentParser {
      * @return A {@link Result} object containing the raw results of the parse.
      */
     public Result parse(final @NotNull Collection<String> arguments) {
-        final Iterator<String> tokens = arguments.iterator();
+        final Result result = new Result(flagGroup.size(), namedGroup.size());
 
-        final Result result = new Result();
+        for (final String token : arguments) {
+            parseToken(result, token);
+        }
 
-        boolean pendingResultReset = false;
+        return result;
+    }
 
-        while (tokens.hasNext()) {
-            final String token = tokens.next();
+    /**
+     * Parse the raw arguments being completed, resuming from the tokens the {@link Checkpoint} already parsed.
+     * Every token but the last one is complete, so the checkpoint moves up to the last one.
+     * If any of the tokens it parsed changed, everything is parsed again.
+     *
+     * @param arguments  A {@link List} of raw arguments, the last one being the one typed.
+     * @param checkpoint The state of the previous parse of the same input.
+     * @return A {@link Result} object containing the raw results of the parse.
+     */
+    public Result parse(final @NotNull List<String> arguments, final @NotNull Checkpoint checkpoint) {
+        final int complete = Math.max(arguments.size() - 1, 0);
 
-            // Reset waiting argument because it's a new token
-            result.setArgumentWaiting(null);
-            result.setCurrent(token);
+        if (checkpoint.result == null || !checkpoint.isPrefixOf(arguments, complete)) {
+            checkpoint.tokens.clear();
+            checkpoint.result = new Result(flagGroup.size(), namedGroup.size());
+        }
 
-            // Reset the flag argument that is pending
-            if (pendingResultReset) {
-                pendingResultReset = false;
-                result.setFlagWaiting(null);
-            }
+        for (int i = checkpoint.tokens.size(); i < complete; i++) {
+            final String token = arguments.get(i);
+            parseToken(checkpoint.result, token);
+            checkpoint.tokens.add(token);
+        }
 
-            // If escaping the flag, then skip
-            if (token.startsWith(ESCAPE)) {
-                result.addNonToken(token);
-                continue;
-            }
+        final Result result = new Result(checkpoint.result);
+        if (complete < arguments.size()) parseToken(result, arguments.get(complete));
+        return result;
+    }
 
-            final Pair<Flag, Result.FlagType> waitingFlag = result.getFlagWaiting();
-            if (waitingFlag != null) {
-                // Threat token as an argument
-                result.addFlag(waitingFlag.first(), token);
-                result.setCurrent(token);
+    /**
+     * Parses a single token on top of the tokens before it.
+     *
+     * @param result The result of the tokens before it.
+     * @param token  The token to parse.
+     */
+    private void parseToken(final @NotNull Result result, final @NotNull String token) {
+        // Reset waiting argument because it's a new token
+        result.setArgumentWaiting(null);
+        result.setCurrent(token);
+
+        // Reset the flag argument that is pending
+        if (result.pendingFlagReset) {
+            result.pendingFlagReset = false;
+            result.setFlagWaiting(null);
+        }
 
-                // Mark for a result reset after
-                pendingResultReset = true;
-                continue;
-            }
+        // If escaping the flag, then skip
+        if (token.startsWith(ESCAPE)) {
+            result.addNonToken(token);
+            return;
+        }
 
-            // Checks if it's a flag, if not, then it could be named
-            if ((!token.startsWith(LONG) || LONG.equals(token)) && (!token.startsWith(SHORT) || SHORT.equals(token))) {
-                final int separator = token.indexOf(ARGUMENT_SEPARATOR);
+        final Pair<Flag, Result.FlagType> waitingFlag = result.getFlagWaiting();
+        if (waitingFlag != null) {
+            // Threat token as an argument
+            result.addFlag(flagGroup.ordinalOf(waitingFlag.first()), token);
+            result.setCurrent(token);
+
+            // Mark for a result reset after
+            result.pendingFlagReset = true;
+            return;
+        }
 
-                // Not a flag nor a named argument, so just ignore
-                if (separator == -1) {
-                    final Argument partial = namedGroup.matchPartialSingle(token);
-                    if (partial != null) {
-                        result.setArgumentWaiting(partial);
-                    }
+        // Checks if it's a flag, if not, then it could be named
+        if ((!token.startsWith(LONG) || LONG.equals(token)) && (!token.startsWith(SHORT) || SHORT.equals(token))) {
+            final int separator = token.indexOf(ARGUMENT_SEPARATOR);
 
-                    result.addNonToken(token);
-                    continue;
+            // Not a flag nor a named argument, so just ignore
+            if (separator == -1) {
+                final Argument partial = namedGroup.matchPartialSingle(token);
+                if (partial != null) {
+                    result.setArgumentWaiting(partial);
                 }
 
-                // Handling of named arguments
-                handleNamed(result, token, separator);
-                continue;
+                result.addNonToken(token);
+                return;
             }
 
-            final int equals = token.indexOf(FLAG_SEPARATOR);
-            // No equals char was found
-            if (equals == -1) {
-                handleNoEquals(result, token);
-                continue;
-            }
+            // Handling of named arguments
+            handleNamed(result, token, separator);
+            return;
+        }
 
-            // Handling of arguments with equals
-            handleWithEquals(result, token, equals);
-            pendingResultReset = true;
+        final int equals = token.indexOf(FLAG_SEPARATOR);
+        // No equals char was found
+        if (equals == -1) {
+            handleNoEquals(result, token);
+            return;
         }
 
-        return result;
+        // Handling of arguments with equals
+        handleWithEquals(result, token, equals);
+        result.pendingFlagReset = true;
     }
 
     /**
@@ -155,7 +184,7 @@ final class ArgumentParser {
             return;
         }
 
-        result.addNamedArgument(argument, argToken);
+        result.addNamedArgument(namedGroup.ordinalOf(argument), argToken);
         result.setCurrent(argToken);
         result.setArgumentWaiting(argument);
     }
@@ -179,17 +208,22 @@ final class ArgumentParser {
             return;
         }
 
+        final int ordinal = flagGroup.ordinalOf(flag);
+
         // Checks if the flag needs argument
         if (flag.hasArgument()) {
-            // Waiting with a type
-            final Result.FlagType type = token.startsWith("--") ? Result.FlagType.LONG_NO_EQUALS : Result.FlagType.FLAG_NO_EQUALS;
-            result.setFlagWaiting(new Pair<>(flag, type));
+            // Only wait for the argument if the flag hasn't been typed yet
+            if (!result.hasFlag(ordinal)) {
+                // Waiting with a type
+                final Result.FlagType type = token.startsWith("--") ? Result.FlagType.LONG_NO_EQUALS : Result.FlagType.FLAG_NO_EQUALS;
+                result.setFlagWaiting(new Pair<>(flag, type));
+            }
             result.setCurrent(token);
             return;
         }
 
         // No argument needed just add flag
-        result.addFlag(flag);
+        result.addFlag(ordinal);
     }
 
     /**
@@ -221,45 +255,104 @@ final class ArgumentParser {
         }
 
         // Add flag normally
-        result.addFlag(flag, argToken);
+        result.addFlag(flagGroup.ordinalOf(flag), argToken);
         result.setCurrent(argToken);
         // Waiting with a type
         final Result.FlagType type = token.startsWith("--") ? Result.FlagType.LONG : Result.FlagType.FLAG;
-        result.setFlagWaiting(new Pair<>(flag, type), true);
+        result.setFlagWaiting(new Pair<>(flag, type));
+    }
+
+    /**
+     * The state of a parse up to the last complete token, kept between completions of the same input.
+     * Not thread safe, callers must not use the same checkpoint concurrently.
+     */
+    public static final class Checkpoint {
+
+        private final List<String> tokens = new ArrayList<>();
+        // Null until the first parse
+        private Result result = null;
+
+        private boolean isPrefixOf(final @NotNull List<String> arguments, final int complete) {
+            if (tokens.size() > complete) return false;
+
+            // Only the last tokens are usually different, so they're checked first
+            for (int i = tokens.size() - 1; i >= 0; i--) {
+                if (!tokens.get(i).equals(arguments.get(i))) return false;
+            }
+
+            return true;
+        }
     }
 
+    /**
+     * The raw results of a parse.
+     * Flags and named arguments are stored by their ordinal within their {@link ArgumentGroup}.
+     */
     public static class Result {
 
-        private final Map<Flag, String> flags = new HashMap<>();
-        private final Map<Argument, String> namedArguments = new HashMap<>();
+        private final String[] flags;
+        private final String[] namedArguments;
         private final List<String> nonTokens = new ArrayList<>();
 
         private String current = "";
         private Argument argumentWaiting = null;
         private Pair<Flag, FlagType> flagWaiting = null;
+        // Whether the flag waiting was given its argument, so the next token no longer belongs to it
+        private boolean pendingFlagReset = false;
+
+        public Result(final int flagCount, final int namedArgumentCount) {
+            this.flags = new String[flagCount];
+            this.namedArguments = new String[namedArgumentCount];
+        }
+
+        private Result(final @NotNull Result result) {
+            this.flags = result.flags.clone();
+            this.namedArguments = result.namedArguments.clone();
+            this.nonTokens.addAll(result.nonTokens);
+            this.current = result.current;
+            this.argumentWaiting = result.argumentWaiting;
+            this.flagWaiting = result.flagWaiting;
+            this.pendingFlagReset = result.pendingFlagReset;
+        }
 
-        public void addNamedArgument(final @NotNull Argument argument, final @NotNull String value) {
-            namedArguments.put(argument, value);
+        public void addNamedArgument(final int ordinal, final @NotNull String value) {
+            namedArguments[ordinal] = value;
         }
 
-        public void addFlag(final @NotNull Flag flagOptions) {
-            flags.put(flagOptions, "");
+        public void addFlag(final int ordinal) {
+            flags[ordinal] = "";
         }
 
-        public void addFlag(final @NotNull Flag flagOptions, final @NotNull String value) {
-            flags.put(flagOptions, value);
+        public void addFlag(final int ordinal, final @NotNull String value) {
+            flags[ordinal] = value;
         }
 
         public void addNonToken(final @NotNull String token) {
             nonTokens.add(token);
         }
 
-        public Map<Flag, String> getFlags() {
-            return flags;
+        public boolean hasFlag(final int ordinal) {
+            return flags[ordinal] != null;
         }
 
-        public Map<Argument, String> getNamedArguments() {
-            return namedArguments;
+        /**
+         * @param ordinal The ordinal of the flag.
+         * @return The raw value of the flag, empty if the flag has no argument, or null if it wasn't typed.
+         */
+        public @Nullable String getFlag(final int ordinal) {
+            return flags[ordinal];
+        }
+
+        public boolean hasNamedArgument(final int ordinal) {
+            return namedArguments[ordinal] != null;
+        }
+
+        /**
+         * @param ordinal The ordinal of the named argument.
+         * @return The raw value of the named argument or null if it wasn't typed.
+         */
+        public @Nullable String getNamedArgument(final int ordinal) {
+            return namedArguments[ordinal];
         }
 
         public List<String> getNonTokens() {
@@ -279,13 +372,6 @@ final class ArgumentParser {
         }
 
         public void setFlagWaiting(final @Nullable Pair<Flag, FlagType> flagWaiting) {
-            setFlagWaiting(flagWaiting, false);
-        }
-
-        public void setFlagWaiting(final @Nullable Pair<Flag, FlagType> flagWaiting, final boolean ignore) {
-            if (!ignore && (flagWaiting != null && flags.containsKey(flagWaiting.first()))) {
-                return;
-            }
             this.flagWaiting = flagWaiting;
         }
 
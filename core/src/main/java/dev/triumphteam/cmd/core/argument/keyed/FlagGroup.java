@@ -26,65 +26,105 @@ package dev.triumphteam.cmd.core.argument.keyed;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Basically a holder that contains all the necessary flags for the command.
+ * Each flag gets an ordinal in the order it was added, which is used to store parsed results in arrays.
  */
 final class FlagGroup implements ArgumentGroup<Flag> {
 
-    private final Map<String, Flag> flags = new HashMap<>();
-    private final Map<String, Flag> longFlags = new HashMap<>();
+    private final List<Flag> flags = new ArrayList<>();
+    private final Map<Flag, Integer> ordinals = new IdentityHashMap<>();
 
-    private final Map<String, Flag> allFlags = new HashMap<>();
+    // Both flag and long flag names, without hyphens, pointing to the flag's ordinal
+    private final Map<String, Integer> names = new HashMap<>();
+    private final Set<String> allFlags = new HashSet<>();
+    private final NameTrie partialNames = new NameTrie();
 
     public FlagGroup(final @NotNull List<Flag> flags) {
         flags.forEach(this::addArgument);
     }
 
     public void addArgument(final @NotNull Flag argument) {
-        final String key = argument.getKey();
+        if (ordinals.containsKey(argument)) return;
+
+        final int ordinal = flags.size();
+        flags.add(argument);
+        ordinals.put(argument, ordinal);
 
         final String longFlag = argument.getLongFlag();
         if (longFlag != null) {
-            allFlags.put("--" + longFlag, argument);
-            longFlags.put(longFlag, argument);
+            allFlags.add("--" + longFlag);
+            // Normal flags take priority over long flags with the same name
+            names.putIfAbsent(longFlag, ordinal);
+            partialNames.insert(longFlag, ordinal);
         }
 
-        allFlags.put("-" + key, argument);
-        flags.put(key, argument);
+        final String flag = argument.getFlag();
+        if (flag != null) {
+            allFlags.add("-" + flag);
+            names.put(flag, ordinal);
+            partialNames.insert(flag, ordinal);
+        }
     }
 
     @Override
     public @NotNull Set<String> getAllNames() {
-        return allFlags.keySet();
+        return allFlags;
     }
 
     @Override
     public boolean isEmpty() {
-        return flags.isEmpty() && longFlags.isEmpty();
+        return flags.isEmpty();
     }
 
     @Override
     public @Nullable Flag matchExact(final @NotNull String token) {
-        final String stripped = stripLeadingHyphens(token);
-
-        final Flag flag = flags.get(stripped);
-        return flag != null ? flag : longFlags.get(stripped);
+        final int ordinal = ordinalOf(token);
+        if (ordinal == -1) return null;
+        return flags.get(ordinal);
     }
 
     @Override
     public @Nullable Flag matchPartialSingle(final @NotNull String token) {
-        return null;
+        final int ordinal = partialNames.matchUnique(stripLeadingHyphens(token));
+        if (ordinal == -1) return null;
+        return flags.get(ordinal);
+    }
+
+    @Override
+    public int ordinalOf(final @NotNull String name) {
+        final Integer ordinal = names.get(stripLeadingHyphens(name));
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    @Override
+    public int ordinalOf(final @NotNull Flag argument) {
+        final Integer ordinal = ordinals.get(argument);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    @Override
+    public @NotNull Flag getByOrdinal(final int ordinal) {
+        return flags.get(ordinal);
+    }
+
+    @Override
+    public int size() {
+        return flags.size();
     }
 
     @Override
     public @NotNull Set<Flag> getAll() {
-        return new HashSet<>(flags.values());
+        return new LinkedHashSet<>(flags);
     }
 
     /**
@@ -24,57 +24,79 @@
 package dev.triumphteam.cmd.core.argument.keyed;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Map;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 
+/**
+ * Holds the parsed flags indexed by their ordinal in the {@link ArgumentGroup}.
+ * Presence is tracked in a {@link BitSet}, so flags without arguments need no value at all.
+ */
 @SuppressWarnings("unchecked")
 abstract class FlagsContainer implements Arguments {
 
-    private final Map<String, ArgumentValue> flags;
+    private final ArgumentGroup<Flag> flagGroup;
+    private final BitSet present;
+    private final String[] rawValues;
+    private final Object[] values;
 
-    public FlagsContainer(final @NotNull Map<String, ArgumentValue> flags) {
-        this.flags = flags;
+    public FlagsContainer(
+            final @NotNull ArgumentGroup<Flag> flagGroup,
+            final @NotNull BitSet present,
+            final @Nullable String @NotNull [] rawValues,
+            final @Nullable Object @NotNull [] values
+    ) {
+        this.flagGroup = flagGroup;
+        this.present = present;
+        this.rawValues = rawValues;
+        this.values = values;
     }
 
     @Override
     public boolean hasFlag(final @NotNull String flag) {
-        return flags.containsKey(flag);
+        final int ordinal = flagGroup.ordinalOf(flag);
+        return ordinal != -1 && present.get(ordinal);
     }
 
     @Override
     public @NotNull <T> Optional<T> getFlagValue(final @NotNull String flag, final @NotNull Class<? super T> type) {
-        final ArgumentValue flagValue = flags.get(flag);
-        if (flagValue == null) return Optional.empty();
-        if (!(flagValue instanceof SimpleArgumentValue)) return Optional.empty();
-        final SimpleArgumentValue argFlagValue = (SimpleArgumentValue) flagValue;
-        return Optional.ofNullable((T) argFlagValue.getValue());
+        final int ordinal = flagGroup.ordinalOf(flag);
+        if (ordinal == -1) return Optional.empty();
+        return Optional.ofNullable((T) values[ordinal]);
     }
 
     @Override
     public @NotNull Optional<String> getFlagValue(final @NotNull String flag) {
-        final ArgumentValue flagValue = flags.get(flag);
-        if (flagValue == null) return Optional.empty();
-        if (!(flagValue instanceof SimpleArgumentValue)) return Optional.empty();
-        final SimpleArgumentValue argFlagValue = (SimpleArgumentValue) flagValue;
-        return Optional.of(argFlagValue.getAsString());
+        final int ordinal = flagGroup.ordinalOf(flag);
+        if (ordinal == -1) return Optional.empty();
+        return Optional.ofNullable(rawValues[ordinal]);
     }
 
     @Override
     public @NotNull Set<String> getAllFlags() {
-        return flags.keySet();
+        final Set<String> flags = new HashSet<>();
+        for (int ordinal = present.nextSetBit(0); ordinal >= 0; ordinal = present.nextSetBit(ordinal + 1)) {
+            final Flag flag = flagGroup.getByOrdinal(ordinal);
+            if (flag.getFlag() != null) flags.add(flag.getFlag());
+            if (flag.getLongFlag() != null) flags.add(flag.getLongFlag());
+        }
+        return flags;
     }
 
     @Override
     public boolean hasFlags() {
-        return !flags.isEmpty();
+        return !present.isEmpty();
     }
 
     @Override
     public String toString() {
         return "FlagsContainer{" +
-                "flags=" + flags +
+                "flags=" + present +
+                ", values=" + Arrays.toString(rawValues) +
                 '}';
     }
 }
@@ -23,28 +23,35 @@
  */
 package dev.triumphteam.cmd.core.argument.keyed;
 
-import dev.triumphteam.cmd.core.util.Pair;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @SuppressWarnings("unchecked")
 public final class KeyedArguments extends FlagsContainer {
 
-    private final Map<String, ArgumentValue> values;
+    private final ArgumentGroup<Argument> namedGroup;
+    private final Object[] values;
     private final List<String> nonTokens;
 
     public KeyedArguments(
-            final @NotNull Map<String, ArgumentValue> values,
-            final @NotNull Map<String, ArgumentValue> flags,
+            final @NotNull ArgumentGroup<Argument> namedGroup,
+            final @Nullable Object @NotNull [] values,
+            final @NotNull ArgumentGroup<Flag> flagGroup,
+            final @NotNull BitSet flags,
+            final @Nullable String @NotNull [] rawFlagValues,
+            final @Nullable Object @NotNull [] flagValues,
             final @NotNull List<String> nonTokens
     ) {
-        super(flags);
+        super(flagGroup, flags, rawFlagValues, flagValues);
+        this.namedGroup = namedGroup;
         this.values = values;
         this.nonTokens = nonTokens;
     }
@@ -67,25 +74,20 @@ public final class KeyedArguments extends FlagsContainer {
     }
 
     private @Nullable Object getValue(final @NotNull String name) {
-        final ArgumentValue argumentValue = values.get(name);
-        if (argumentValue == null) return null;
-
-        if (argumentValue instanceof SimpleArgumentValue) {
-            return ((SimpleArgumentValue) argumentValue).getValue();
-        }
-
-        return null;
+        final int ordinal = namedGroup.ordinalOf(name);
+        if (ordinal == -1) return null;
+        return values[ordinal];
     }
 
     @Override
     public @NotNull Map<String, Object> getAllArguments() {
-        return values.entrySet().stream().map(entry -> {
-            final ArgumentValue value = entry.getValue();
-            if (value instanceof SimpleArgumentValue) {
-                return new Pair<>(entry.getKey(), ((SimpleArgumentValue) value).getValue());
-            }
-            return new Pair<>(entry.getKey(), null);
-        }).collect(Collectors.toMap(Pair::first, Pair::second));
+        final Map<String, Object> arguments = new HashMap<>();
+        for (int ordinal = 0; ordinal < values.length; ordinal++) {
+            final Object value = values[ordinal];
+            if (value == null) continue;
+            arguments.put(namedGroup.getByOrdinal(ordinal).getName(), value);
+        }
+        return arguments;
     }
 
     @Override
@@ -100,13 +102,16 @@ public final class KeyedArguments extends FlagsContainer {
 
     @Override
     public boolean hasArguments() {
-        return !values.isEmpty();
+        for (final Object value : values) {
+            if (value != null) return true;
+        }
+        return false;
     }
 
     @Override
     public @NotNull String toString() {
         return "Arguments{" +
-                "values=" + values +
+                "values=" + Arrays.toString(values) +
                 ", super=" + super.toString() + "}";
     }
 }
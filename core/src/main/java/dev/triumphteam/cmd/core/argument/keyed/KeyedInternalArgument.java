@@ -31,26 +31,34 @@ import dev.triumphteam.cmd.core.extension.InternalArgumentResult;
 import dev.triumphteam.cmd.core.extension.SuggestionMapper;
 import dev.triumphteam.cmd.core.extension.meta.CommandMeta;
 import dev.triumphteam.cmd.core.suggestion.EmptySuggestion;
+import dev.triumphteam.cmd.core.suggestion.PendingSuggestions;
 import dev.triumphteam.cmd.core.util.Pair;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public final class KeyedInternalArgument<S, ST> extends LimitlessInternalArgument<S, ST> {
 
-    private final Map<Flag, StringInternalArgument<S, ST>> flagInternalArguments;
-    private final Map<Argument, StringInternalArgument<S, ST>> argumentInternalArguments;
+    // Internal arguments indexed by the ordinal of the flag or argument in its group
+    private final List<StringInternalArgument<S, ST>> flagInternalArguments;
+    private final List<StringInternalArgument<S, ST>> argumentInternalArguments;
+    private final ArgumentGroup<Flag> flagGroup;
+    private final ArgumentGroup<Argument> argumentGroup;
     private final SuggestionMapper<ST> mapper;
 
     private final ArgumentParser argumentParser;
+    // The parse of each sender's last completion, resumed while they keep typing
+    private final Map<S, ArgumentParser.Checkpoint> checkpoints = new WeakHashMap<>();
 
     public KeyedInternalArgument(
             final @NotNull CommandMeta meta,
@@ -63,70 +71,83 @@ public final class KeyedInternalArgument<S, ST> extends LimitlessInternalArgumen
             final @NotNull SuggestionMapper<ST> mapper
     ) {
         super(meta, name, description, Flags.class, new EmptySuggestion<>(), null, true);
-        this.flagInternalArguments = flagInternalArguments;
-        this.argumentInternalArguments = argumentInternalArguments;
+        this.flagInternalArguments = byOrdinal(flagGroup, flagInternalArguments);
+        this.argumentInternalArguments = byOrdinal(argumentGroup, argumentInternalArguments);
+        this.flagGroup = flagGroup;
+        this.argumentGroup = argumentGroup;
         this.mapper = mapper;
         this.argumentParser = new ArgumentParser(flagGroup, argumentGroup);
     }
 
+    private static <T, S, ST> @NotNull List<StringInternalArgument<S, ST>> byOrdinal(
+            final @NotNull ArgumentGroup<T> group,
+            final @NotNull Map<T, StringInternalArgument<S, ST>> internalArguments
+    ) {
+        final List<StringInternalArgument<S, ST>> indexed = new ArrayList<>(group.size());
+        for (int ordinal = 0; ordinal < group.size(); ordinal++) {
+            indexed.add(internalArguments.get(group.getByOrdinal(ordinal)));
+        }
+        return indexed;
+    }
+
     @Override
     public @NotNull InternalArgumentResult resolve(final @NotNull S sender, final @NotNull ArgumentInput input) {
         final ArgumentParser.Result result = argumentParser.parse(Arrays.asList(input.getInput().split(" ")));
 
         // Parsing and validating named arguments
-        final Map<String, ArgumentValue> arguments = new HashMap<>();
-        for (final Map.Entry<Argument, String> entry : result.getNamedArguments().entrySet()) {
-            final Argument argument = entry.getKey();
-            final String raw = entry.getValue();
+        final Object[] arguments = new Object[argumentGroup.size()];
+        for (int ordinal = 0; ordinal < arguments.length; ordinal++) {
+            final String raw = result.getNamedArgument(ordinal);
+            if (raw == null) continue;
 
-            final StringInternalArgument<S, ST> internalArgument = argumentInternalArguments.get(argument);
+            final StringInternalArgument<S, ST> internalArgument = argumentInternalArguments.get(ordinal);
             if (internalArgument == null) continue;
 
-            final InternalArgumentResult resolved =
-                    internalArgument.resolve(sender, new ArgumentInput(entry.getValue()));
+            final InternalArgumentResult resolved = internalArgument.resolve(sender, new ArgumentInput(raw));
 
             if (resolved instanceof InternalArgumentResult.Invalid) {
                 return resolved;
             }
 
             if (resolved instanceof InternalArgumentResult.Valid) {
-                final Object resolvedValue = ((InternalArgumentResult.Valid) resolved).getValue();
-                arguments.put(argument.getName(), new SimpleArgumentValue(raw, resolvedValue));
+                arguments[ordinal] = ((InternalArgumentResult.Valid) resolved).getValue();
             }
         }
 
         // Parsing and validating flags
-        final Map<String, ArgumentValue> flags = new HashMap<>();
-        for (final Map.Entry<Flag, String> entry : result.getFlags().entrySet()) {
-            final Flag flag = entry.getKey();
-            final String raw = entry.getValue();
-
+        final int flagCount = flagGroup.size();
+        final BitSet flags = new BitSet(flagCount);
+        final String[] rawFlagValues = new String[flagCount];
+        final Object[] flagValues = new Object[flagCount];
+        for (int ordinal = 0; ordinal < flagCount; ordinal++) {
+            final String raw = result.getFlag(ordinal);
+            if (raw == null) continue;
+
+            final Flag flag = flagGroup.getByOrdinal(ordinal);
             if (!flag.hasArgument()) {
-                flags.put(flag.getFlag(), EmptyArgumentValue.INSTANCE);
-                flags.put(flag.getLongFlag(), EmptyArgumentValue.INSTANCE);
+                flags.set(ordinal);
                 continue;
             }
 
-            final StringInternalArgument<S, ST> internalArgument = flagInternalArguments.get(flag);
+            final StringInternalArgument<S, ST> internalArgument = flagInternalArguments.get(ordinal);
             if (internalArgument == null) continue;
 
-            final InternalArgumentResult resolved =
-                    internalArgument.resolve(sender, new ArgumentInput(entry.getValue()));
+            final InternalArgumentResult resolved = internalArgument.resolve(sender, new ArgumentInput(raw));
 
             if (resolved instanceof InternalArgumentResult.Invalid) {
                 return resolved;
             }
 
             if (resolved instanceof InternalArgumentResult.Valid) {
-                final Object resolvedValue = ((InternalArgumentResult.Valid) resolved).getValue();
-
-                final ArgumentValue argumentValue = new SimpleArgumentValue(raw, resolvedValue);
-                flags.put(flag.getFlag(), argumentValue);
-                flags.put(flag.getLongFlag(), argumentValue);
+                flags.set(ordinal);
+                rawFlagValues[ordinal] = raw;
+                flagValues[ordinal] = ((InternalArgumentResult.Valid) resolved).getValue();
             }
         }
 
-        return InternalArgument.valid(new KeyedArguments(arguments, flags, result.getNonTokens()));
+        return InternalArgument.valid(
+                new KeyedArguments(argumentGroup, arguments, flagGroup, flags, rawFlagValues, flagValues, result.getNonTokens())
+        );
     }
 
     @Override
@@ -134,103 +155,173 @@ public final class KeyedInternalArgument<S, ST> extends LimitlessInternalArgumen
             final @NotNull S sender,
             final @NotNull String current,
             final @NotNull List<String> arguments,
-            final @NotNull Map<String, String> argumentsMap
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
+    ) {
+        // Nothing is asynchronous here, so the stage is already done
+        return suggestions(sender, current, arguments, limit, false).toCompletableFuture().join();
+    }
+
+    @Override
+    public @NotNull CompletionStage<List<ST>> suggestionsAsync(
+            final @NotNull S sender,
+            final @NotNull String current,
+            final @NotNull List<String> arguments,
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
     ) {
-        final ArgumentParser.Result result = argumentParser.parse(arguments);
+        return suggestions(sender, current, arguments, limit, true);
+    }
+
+    private @NotNull CompletionStage<List<ST>> suggestions(
+            final @NotNull S sender,
+            final @NotNull String current,
+            final @NotNull List<String> arguments,
+            final int limit,
+            final boolean async
+    ) {
+        final ArgumentParser.Checkpoint checkpoint;
+        synchronized (checkpoints) {
+            checkpoint = checkpoints.computeIfAbsent(sender, it -> new ArgumentParser.Checkpoint());
+        }
+
+        final ArgumentParser.Result result;
+        synchronized (checkpoint) {
+            result = argumentParser.parse(arguments, checkpoint);
+        }
+
         final String resultCurrent = result.getCurrent();
 
         // Checking if we're waiting for a flag argument
-        final List<String> waitingFlagArguments = handleFlagArgument(resultCurrent, result, sender);
-        if (waitingFlagArguments != null) return map(waitingFlagArguments);
+        final CompletableFuture<List<String>> waitingFlagArguments = handleFlagArgument(resultCurrent, result, sender, limit, async);
+        if (waitingFlagArguments != null) {
+            return PendingSuggestions.propagateCancellation(waitingFlagArguments.thenApply(it -> map(it, limit)), waitingFlagArguments);
+        }
 
         // Checking if we're waiting for an argument
-        final List<String> waitingArguments = handleNamedArgument(resultCurrent, result, sender);
-        if (waitingArguments != null) return map(waitingArguments);
+        final CompletableFuture<List<String>> waitingArguments = handleNamedArgument(resultCurrent, result, sender, limit, async);
+        if (waitingArguments != null) {
+            return PendingSuggestions.propagateCancellation(waitingArguments.thenApply(it -> map(it, limit)), waitingArguments);
+        }
 
         // Handle flags only when they are typed
-        if (current.startsWith("--")) return map(longFlags(resultCurrent, result.getFlags()));
-        if (current.startsWith("-")) return map(flags(resultCurrent, result.getFlags()));
+        if (current.startsWith("--")) return CompletableFuture.completedFuture(map(longFlags(resultCurrent, result), limit));
+        if (current.startsWith("-")) return CompletableFuture.completedFuture(map(flags(resultCurrent, result), limit));
 
         // If we're not dealing with flags or arguments, we return a list of named arguments that haven't been used yet
-        return map(namedArguments(resultCurrent, result.getNamedArguments()));
+        return CompletableFuture.completedFuture(map(namedArguments(resultCurrent, result), limit));
+    }
+
+    // The values of flags and named arguments are suggested by their own internal argument, which may be asynchronous
+    private @NotNull CompletableFuture<List<ST>> valueSuggestions(
+            final @NotNull InternalArgument<S, ST> internalArgument,
+            final @NotNull S sender,
+            final @NotNull String current,
+            final int limit,
+            final boolean async
+    ) {
+        final List<String> arguments = Collections.singletonList(current);
+        if (async) {
+            return internalArgument.suggestionsAsync(sender, current, arguments, Collections.emptyMap(), limit).toCompletableFuture();
+        }
+        return CompletableFuture.completedFuture(internalArgument.suggestions(sender, current, arguments, Collections.emptyMap(), limit));
     }
 
-    private @NotNull List<ST> map(final @NotNull List<String> suggestions) {
-        return mapper.map(suggestions, getType());
+    private @NotNull List<ST> map(final @NotNull List<String> suggestions, final int limit) {
+        // Only the suggestions that will be shown need to be mapped
+        return mapper.map(suggestions.size() <= limit ? suggestions : suggestions.subList(0, limit), getType());
     }
 
     private @NotNull List<String> longFlags(
             final @NotNull String current,
-            final @NotNull Map<Flag, String> parsed
+            final @NotNull ArgumentParser.Result parsed
     ) {
-        return flagInternalArguments.keySet()
-                .stream()
-                .filter(it -> !parsed.containsKey(it))
-                .map(Flag::getLongFlag)
-                .filter(Objects::nonNull)
-                .map(it -> "--" + it)
-                .filter(it -> it.startsWith(current))
-                .collect(Collectors.toList());
+        final List<String> suggestions = new ArrayList<>();
+        for (int ordinal = 0; ordinal < flagGroup.size(); ordinal++) {
+            if (parsed.hasFlag(ordinal)) continue;
+
+            final String longFlag = flagGroup.getByOrdinal(ordinal).getLongFlag();
+            if (longFlag == null) continue;
+
+            final String suggestion = "--" + longFlag;
+            if (suggestion.startsWith(current)) suggestions.add(suggestion);
+        }
+        return suggestions;
     }
 
     private @NotNull List<String> flags(
             final @NotNull String current,
-            final @NotNull Map<Flag, String> parsed
+            final @NotNull ArgumentParser.Result parsed
     ) {
-        return flagInternalArguments.keySet()
-                .stream()
-                .filter(it -> !parsed.containsKey(it))
-                .map(Flag::getFlag)
-                .filter(Objects::nonNull)
-                .map(it -> "-" + it)
-                .filter(it -> it.startsWith(current))
-                .collect(Collectors.toList());
+        final List<String> suggestions = new ArrayList<>();
+        for (int ordinal = 0; ordinal < flagGroup.size(); ordinal++) {
+            if (parsed.hasFlag(ordinal)) continue;
+
+            final String flag = flagGroup.getByOrdinal(ordinal).getFlag();
+            if (flag == null) continue;
+
+            final String suggestion = "-" + flag;
+            if (suggestion.startsWith(current)) suggestions.add(suggestion);
+        }
+        return suggestions;
     }
 
     private @NotNull List<String> namedArguments(
             final @NotNull String current,
-            final @NotNull Map<Argument, String> parsed
+            final @NotNull ArgumentParser.Result parsed
     ) {
-        return argumentInternalArguments.keySet()
-                .stream()
-                .filter(it -> !parsed.containsKey(it))
-                .flatMap(it -> Stream.of(it.getName(), it.getLongName()))
-                .filter(Objects::nonNull)
-                .filter(it -> it.startsWith(current))
-                .map(it -> it + ":")
-                .collect(Collectors.toList());
+        final List<String> suggestions = new ArrayList<>();
+        for (int ordinal = 0; ordinal < argumentGroup.size(); ordinal++) {
+            if (parsed.hasNamedArgument(ordinal)) continue;
+
+            final Argument argument = argumentGroup.getByOrdinal(ordinal);
+            if (argument.getName().startsWith(current)) suggestions.add(argument.getName() + ":");
+
+            final String longName = argument.getLongName();
+            if (longName != null && longName.startsWith(current)) suggestions.add(longName + ":");
+        }
+        return suggestions;
     }
 
-    private @Nullable List<String> handleNamedArgument(
+    private @Nullable CompletableFuture<List<String>> handleNamedArgument(
             final @NotNull String current,
             final @NotNull ArgumentParser.Result result,
-            final @NotNull S sender
+            final @NotNull S sender,
+            final int limit,
+            final boolean async
     ) {
         // Checking if we're waiting for an argument
         final Argument waiting = result.getArgumentWaiting();
         if (waiting == null) return null;
 
+        final int ordinal = argumentGroup.ordinalOf(waiting);
+        if (ordinal == -1) return null;
+
         // If so we get the internal version of the argument, this will likely never be null
-        final InternalArgument<S, ST> internalArgument = argumentInternalArguments.get(waiting);
+        final InternalArgument<S, ST> internalArgument = argumentInternalArguments.get(ordinal);
         if (internalArgument == null) return null;
         final String raw = (waiting.isLongNameArgument() ? waiting.getLongName() : waiting.getName()) + ":";
         // Get a suggestion from the internal argument and map it to the "raw" argument
-        final List<String> suggestions = internalArgument.suggestions(sender, current, Collections.singletonList(current), Collections.emptyMap())
-                .stream()
-                .map(it -> raw + it)
-                .collect(Collectors.toList());
-
-        // In case the suggestion returns nothing, we just return the raw type as a suggestion
-        if (suggestions.isEmpty()) return Collections.singletonList(raw);
-
-        // If there are suggestions, we return them
-        return suggestions;
+        final CompletableFuture<List<ST>> values = valueSuggestions(internalArgument, sender, current, limit, async);
+        return PendingSuggestions.propagateCancellation(values.thenApply(it -> {
+            final List<String> suggestions = it.stream()
+                    .map(value -> raw + value)
+                    .collect(Collectors.toList());
+
+            // In case the suggestion returns nothing, we just return the raw type as a suggestion
+            if (suggestions.isEmpty()) return Collections.singletonList(raw);
+
+            // If there are suggestions, we return them
+            return suggestions;
+        }), values);
     }
 
-    private @Nullable List<String> handleFlagArgument(
+    private @Nullable CompletableFuture<List<String>> handleFlagArgument(
             final @NotNull String current,
             final @NotNull ArgumentParser.Result result,
-            final @NotNull S sender
+            final @NotNull S sender,
+            final int limit,
+            final boolean async
     ) {
         final Pair<Flag, ArgumentParser.Result.FlagType> waitingFlag = result.getFlagWaiting();
         if (waitingFlag == null) return null;
@@ -239,15 +330,19 @@ public final class KeyedInternalArgument<S, ST> extends LimitlessInternalArgumen
         final ArgumentParser.Result.FlagType type = waitingFlag.second();
         if (flag == null || type == null) return null;
 
-        final InternalArgument<S, ST> internalArgument = flagInternalArguments.get(flag);
+        final int ordinal = flagGroup.ordinalOf(flag);
+        if (ordinal == -1) return null;
+
+        final InternalArgument<S, ST> internalArgument = flagInternalArguments.get(ordinal);
         if (internalArgument == null) return null;
 
-        return mapper.mapBackwards(internalArgument.suggestions(sender, current, Collections.singletonList(current), Collections.emptyMap()))
+        final CompletableFuture<List<ST>> values = valueSuggestions(internalArgument, sender, current, limit, async);
+        return PendingSuggestions.propagateCancellation(values.thenApply(it -> mapper.mapBackwards(it)
                 .stream()
-                .map(it -> {
-                    if (!type.hasEquals()) return it; // No equals, so we just suggest the argument
+                .map(value -> {
+                    if (!type.hasEquals()) return value; // No equals, so we just suggest the argument
                     final String prefix = type.isLong() ? "--" + flag.getLongFlag() : "-" + flag.getFlag();
-                    return prefix + "=" + it;
-                }).collect(Collectors.toList());
+                    return prefix + "=" + value;
+                }).collect(Collectors.toList())), values);
     }
 }
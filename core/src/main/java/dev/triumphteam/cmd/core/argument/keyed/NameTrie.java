@@ -0,0 +1,122 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.argument.keyed;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A prefix tree of argument names, pointing each name to the ordinal of its argument.
+ * Every node knows whether all the names under it belong to a single argument,
+ * so finding a unique partial match only costs the length of the token and allocates nothing.
+ */
+final class NameTrie {
+
+    private static final int NONE = -1;
+    private static final int MULTIPLE = -2;
+
+    private final Node root = new Node();
+
+    /**
+     * Adds a name to the trie.
+     *
+     * @param name    The name of the argument.
+     * @param ordinal The ordinal of the argument in its group.
+     */
+    public void insert(final @NotNull String name, final int ordinal) {
+        Node node = root;
+        node.mark(ordinal);
+
+        for (int i = 0; i < name.length(); i++) {
+            node = node.getOrCreate(name.charAt(i));
+            node.mark(ordinal);
+        }
+    }
+
+    /**
+     * Finds the argument whose names are the only ones starting with the given prefix.
+     *
+     * @param prefix The prefix typed so far.
+     * @return The ordinal of the single argument matching the prefix, or -1 if none or more than one match.
+     */
+    public int matchUnique(final @NotNull String prefix) {
+        Node node = root;
+
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.get(prefix.charAt(i));
+            if (node == null) return NONE;
+        }
+
+        return node.unique < 0 ? NONE : node.unique;
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        // Sorted keys, with the children in the same positions
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int unique = NONE;
+
+        private void mark(final int ordinal) {
+            if (unique == NONE) {
+                unique = ordinal;
+                return;
+            }
+
+            if (unique != ordinal) unique = MULTIPLE;
+        }
+
+        private @Nullable Node get(final char key) {
+            final int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : children[index];
+        }
+
+        private @NotNull Node getOrCreate(final char key) {
+            final int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) return children[index];
+
+            final int insertion = -(index + 1);
+            final Node node = new Node();
+
+            final char[] newKeys = new char[keys.length + 1];
+            final Node[] newChildren = new Node[children.length + 1];
+
+            System.arraycopy(keys, 0, newKeys, 0, insertion);
+            System.arraycopy(children, 0, newChildren, 0, insertion);
+            newKeys[insertion] = key;
+            newChildren[insertion] = node;
+            System.arraycopy(keys, insertion, newKeys, insertion + 1, keys.length - insertion);
+            System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+
+            keys = newKeys;
+            children = newChildren;
+            return node;
+        }
+    }
+}
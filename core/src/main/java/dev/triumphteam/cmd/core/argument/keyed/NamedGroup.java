@@ -26,33 +26,54 @@ package dev.triumphteam.cmd.core.argument.keyed;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Basically a holder that contains all the needed arguments for the command.
+ * Each argument gets an ordinal in the order it was added, which is used to store parsed results in arrays.
  */
 final class NamedGroup implements ArgumentGroup<Argument> {
 
-    private final Map<String, Argument> arguments = new HashMap<>();
-    private final Map<String, Argument> longArguments = new HashMap<>();
+    private final List<Argument> arguments = new ArrayList<>();
+    // The long name copies of the arguments, with the same ordinal as the original
+    private final List<Argument> longNameArguments = new ArrayList<>();
+    private final Map<Argument, Integer> ordinals = new IdentityHashMap<>();
+
+    private final Map<String, Integer> names = new HashMap<>();
+    private final Map<String, Integer> longNames = new HashMap<>();
+    private final NameTrie partialNames = new NameTrie();
 
     NamedGroup(final @NotNull List<Argument> arguments) {
         arguments.forEach(this::addArgument);
     }
 
     public void addArgument(final @NotNull Argument argument) {
-        arguments.put(argument.getName(), argument);
-        longArguments.put(argument.getLongName(), argument.asLongNameArgument());
+        if (ordinals.containsKey(argument)) return;
+
+        final int ordinal = arguments.size();
+        final Argument longNameArgument = argument.asLongNameArgument();
+
+        arguments.add(argument);
+        longNameArguments.add(longNameArgument);
+        ordinals.put(argument, ordinal);
+        ordinals.put(longNameArgument, ordinal);
+
+        names.put(argument.getName(), ordinal);
+        partialNames.insert(argument.getName(), ordinal);
+
+        final String longName = argument.getLongName();
+        if (longName != null) longNames.put(longName, ordinal);
     }
 
     @Override
     public @NotNull Set<String> getAllNames() {
-        return arguments.keySet();
+        return names.keySet();
     }
 
     @Override
@@ -62,27 +83,48 @@ final class NamedGroup implements ArgumentGroup<Argument> {
 
     @Override
     public @Nullable Argument matchExact(final @NotNull String token) {
-        final Argument argument = arguments.get(token);
-        if (argument != null) return argument;
+        final Integer ordinal = names.get(token);
+        if (ordinal != null) return arguments.get(ordinal);
 
-        return longArguments.get(token);
+        final Integer longOrdinal = longNames.get(token);
+        if (longOrdinal == null) return null;
+        return longNameArguments.get(longOrdinal);
     }
 
     @Override
     public @Nullable Argument matchPartialSingle(final @NotNull String token) {
-        final List<Argument> arguments = this.arguments.entrySet()
-                .stream()
-                .filter(it -> it.getKey().startsWith(token))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+        final int ordinal = partialNames.matchUnique(token);
+        if (ordinal == -1) return null;
+        return arguments.get(ordinal);
+    }
+
+    @Override
+    public int ordinalOf(final @NotNull String name) {
+        final Integer ordinal = names.get(name);
+        if (ordinal != null) return ordinal;
 
-        if (arguments.size() != 1) return null;
+        final Integer longOrdinal = longNames.get(name);
+        return longOrdinal == null ? -1 : longOrdinal;
+    }
+
+    @Override
+    public int ordinalOf(final @NotNull Argument argument) {
+        final Integer ordinal = ordinals.get(argument);
+        return ordinal == null ? -1 : ordinal;
+    }
 
-        return arguments.get(0);
+    @Override
+    public @NotNull Argument getByOrdinal(final int ordinal) {
+        return arguments.get(ordinal);
+    }
+
+    @Override
+    public int size() {
+        return arguments.size();
     }
 
     @Override
     public @NotNull Set<Argument> getAll() {
-        return new HashSet<>(arguments.values());
+        return new LinkedHashSet<>(arguments);
     }
 }
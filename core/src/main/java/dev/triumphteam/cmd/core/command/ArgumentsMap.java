@@ -0,0 +1,101 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.command;
+
+import dev.triumphteam.cmd.core.argument.InternalArgument;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The typed arguments by name, as a view over the argument list and the typed values.
+ * Lookups scan the few arguments a command has, the backing map is only built if something iterates over it.
+ */
+final class ArgumentsMap extends AbstractMap<String, String> {
+
+    private List<? extends InternalArgument<?, ?>> argumentList = Collections.emptyList();
+    private List<String> arguments = Collections.emptyList();
+    private int size = 0;
+    private Map<String, String> entries = null;
+
+    ArgumentsMap() {}
+
+    ArgumentsMap(final @NotNull List<? extends InternalArgument<?, ?>> argumentList, final @NotNull List<String> arguments) {
+        reset(argumentList, arguments);
+    }
+
+    @NotNull ArgumentsMap reset(final @NotNull List<? extends InternalArgument<?, ?>> argumentList, final @NotNull List<String> arguments) {
+        this.argumentList = argumentList;
+        this.arguments = arguments;
+        this.size = Math.min(argumentList.size(), arguments.size());
+        this.entries = null;
+        return this;
+    }
+
+    @Override
+    public @Nullable String get(final Object key) {
+        final int index = indexOf(key);
+        return index == -1 ? null : arguments.get(index);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) != -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public @NotNull Set<Entry<String, String>> entrySet() {
+        if (entries == null) {
+            final Map<String, String> built = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                built.put(argumentList.get(i).getName(), arguments.get(i));
+            }
+            entries = Collections.unmodifiableMap(built);
+        }
+        return entries.entrySet();
+    }
+
+    private int indexOf(final Object key) {
+        for (int i = 0; i < size; i++) {
+            if (argumentList.get(i).getName().equals(key)) return i;
+        }
+        return -1;
+    }
+}
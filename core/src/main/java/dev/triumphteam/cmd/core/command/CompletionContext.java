@@ -0,0 +1,97 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.command;
+
+import dev.triumphteam.cmd.core.argument.InternalArgument;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reusable buffers for a synchronous tab completion, one per thread, so a keystroke doesn't allocate the argument collections.
+ * Everything handed out is only valid until {@link #release()}, suggestions that keep the arguments must copy them.
+ * A completion started while the thread's context is in use, like from within a resolver, simply doesn't get one.
+ */
+final class CompletionContext {
+
+    private static final ThreadLocal<CompletionContext> CONTEXTS = ThreadLocal.withInitial(CompletionContext::new);
+
+    private final ArrayDeque<String> deque = new ArrayDeque<>();
+    private final ArrayList<String> arguments = new ArrayList<>();
+    private final ArgumentsMap argumentsMap = new ArgumentsMap();
+    private boolean inUse = false;
+
+    private CompletionContext() {}
+
+    /**
+     * @return The context of the current thread, or null if it's already in use.
+     */
+    static @Nullable CompletionContext acquire() {
+        final CompletionContext context = CONTEXTS.get();
+        if (context.inUse) return null;
+        context.inUse = true;
+        return context;
+    }
+
+    /**
+     * Clears the buffers, so they don't hold on to the typed arguments, and makes the context available again.
+     */
+    void release() {
+        deque.clear();
+        arguments.clear();
+        argumentsMap.reset(Collections.emptyList(), Collections.emptyList());
+        inUse = false;
+    }
+
+    @NotNull Deque<String> deque(final @NotNull String @NotNull [] values) {
+        deque.clear();
+        for (final String value : values) {
+            deque.add(value);
+        }
+        return deque;
+    }
+
+    @NotNull List<String> arguments(final @NotNull Collection<String> values) {
+        arguments.clear();
+        // Not addAll, which copies the collection into a new array first
+        for (final String value : values) {
+            arguments.add(value);
+        }
+        return arguments;
+    }
+
+    @NotNull Map<String, String> argumentsMap(
+            final @NotNull List<? extends InternalArgument<?, ?>> argumentList,
+            final @NotNull List<String> arguments
+    ) {
+        return argumentsMap.reset(argumentList, arguments);
+    }
+}
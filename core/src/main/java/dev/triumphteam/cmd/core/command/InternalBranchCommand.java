@@ -40,6 +40,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
 /**
@@ -125,15 +126,32 @@ public class InternalBranchCommand<D, S, ST> extends InternalParentCommand<D, S,
     }
 
     @Override
-    public @NotNull List<ST> suggestions(@NotNull final S sender, final @NotNull Deque<String> arguments) {
+    @NotNull List<ST> suggestions(
+            final @NotNull S sender,
+            final @NotNull Deque<String> arguments,
+            final @Nullable CompletionContext context
+    ) {
+        // If we're dealing with only 1 argument, it means it's the argument suggestion
+        if (arguments.size() == 1 && hasArgument) {
+            final String current = arguments.peekLast();
+            return argument.suggestions(sender, current, Collections.singletonList(current), Collections.emptyMap());
+        }
+
+        // If we do have arguments, we need to pop them out before continuing
+        if (hasArgument) arguments.pop();
+        return super.suggestions(sender, arguments, context);
+    }
+
+    @Override
+    public @NotNull CompletionStage<List<ST>> suggestionsAsync(final @NotNull S sender, final @NotNull Deque<String> arguments) {
         // If we're dealing with only 1 argument, it means it's the argument suggestion
         if (arguments.size() == 1 && hasArgument) {
-            return argument.suggestions(sender, arguments.peekLast(), new ArrayList<>(arguments), Collections.emptyMap());
+            return argument.suggestionsAsync(sender, arguments.peekLast(), new ArrayList<>(arguments), Collections.emptyMap(), Integer.MAX_VALUE);
         }
 
         // If we do have arguments, we need to pop them out before continuing
         if (hasArgument) arguments.pop();
-        return super.suggestions(sender, arguments);
+        return super.suggestionsAsync(sender, arguments);
     }
 
     /**
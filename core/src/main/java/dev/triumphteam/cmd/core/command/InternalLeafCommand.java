@@ -25,7 +25,11 @@ package dev.triumphteam.cmd.core.command;
 
 import dev.triumphteam.cmd.core.annotations.Syntax;
 import dev.triumphteam.cmd.core.argument.InternalArgument;
+import dev.triumphteam.cmd.core.argument.Lazy;
+import dev.triumphteam.cmd.core.argument.LazyInternalArgument;
 import dev.triumphteam.cmd.core.argument.LimitlessInternalArgument;
+import dev.triumphteam.cmd.core.argument.ResolverInternalArgument;
+import dev.triumphteam.cmd.core.argument.SpeculationCache;
 import dev.triumphteam.cmd.core.argument.StringInternalArgument;
 import dev.triumphteam.cmd.core.exceptions.CommandExecutionException;
 import dev.triumphteam.cmd.core.extension.CommandOptions;
@@ -42,6 +46,10 @@ import dev.triumphteam.cmd.core.message.context.MessageContext;
 import dev.triumphteam.cmd.core.message.context.SyntaxMessageContext;
 import dev.triumphteam.cmd.core.processor.CommandProcessor;
 import dev.triumphteam.cmd.core.processor.LeafCommandProcessor;
+import dev.triumphteam.cmd.core.requirement.RequirementScope;
+import dev.triumphteam.cmd.core.suggestion.InternalSuggestion;
+import dev.triumphteam.cmd.core.suggestion.PendingSuggestions;
+import dev.triumphteam.cmd.core.suggestion.RankedSuggestion;
 import dev.triumphteam.cmd.core.util.Pair;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -52,6 +60,8 @@ import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -80,6 +90,8 @@ public class InternalLeafCommand<D, S, ST> implements InternalCommand<D, S, ST>
 
     private final SenderExtension<D, S> senderExtension;
     private final MessageRegistry<S> messageRegistry;
+    private final SpeculationCache<S> speculationCache;
+    private final PendingSuggestions<S> pendingSuggestions = new PendingSuggestions<>();
 
     public InternalLeafCommand(
             final @NotNull Object invocationInstance,
@@ -111,6 +123,7 @@ public class InternalLeafCommand<D, S, ST> implements InternalCommand<D, S, ST>
         this.messageRegistry = processor.getRegistryContainer().getMessageRegistry();
         this.senderExtension = commandOptions.getCommandExtensions().getSenderExtension();
         this.commandExecutor = commandOptions.getCommandExtensions().getCommandExecutor();
+        this.speculationCache = commandOptions.getSpeculationCache();
 
         this.syntax = createSyntax(parentCommand, processor);
 
@@ -164,9 +177,9 @@ public class InternalLeafCommand<D, S, ST> implements InternalCommand<D, S, ST>
                     if (internalArgument.isOptional()) {
                         final String defaultValue = stringArgument.getDefaultValue();
 
-                        // If nothing is provided, we just add null and move on.
+                        // If nothing is provided, we just add null (or an empty lazy) and move on.
                         if (defaultValue == null) {
-                            invokeArguments.add(null);
+                            invokeArguments.add(internalArgument instanceof LazyInternalArgument ? Lazy.empty() : null);
                             continue;
                         }
 
@@ -177,7 +190,17 @@ public class InternalLeafCommand<D, S, ST> implements InternalCommand<D, S, ST>
                         return;
                     }
                 }
-                result = stringArgument.resolve(sender, usableInput);
+
+                if (stringArgument instanceof LazyInternalArgument) {
+                    // Lazy arguments resolve later, so the failure message has to be sent when they do
+                    result = ((LazyInternalArgument<S, ST>) stringArgument).resolve(
+                            sender,
+                            usableInput,
+                            invalid -> messageRegistry.sendMessage(MessageKey.INVALID_ARGUMENT, sender, invalid.getFail().apply(meta, syntax))
+                    );
+                } else {
+                    result = resolveString(sender, stringArgument, usableInput);
+                }
             } else {
                 // Should never happen, this should be a sealed type ... but hey, it's Java 8
                 throw new CommandExecutionException("Found unsupported argument", "", name);
@@ -199,6 +222,11 @@ public class InternalLeafCommand<D, S, ST> implements InternalCommand<D, S, ST>
             }
         }
 
+        recordSuggestions(sender, arguments);
+
+        // Every requirement was tested by now, commands dispatched from the method must resolve them again
+        RequirementScope.close();
+
         commandExecutor.execute(
                 meta,
                 messageRegistry,
@@ -209,6 +237,34 @@ public class InternalLeafCommand<D, S, ST> implements InternalCommand<D, S, ST>
         );
     }
 
+    /**
+     * Records the executed values of ranked arguments, so they're suggested first next time.
+     */
+    private void recordSuggestions(final @NotNull S sender, final @NotNull Map<String, ArgumentInput> arguments) {
+        for (final InternalArgument<S, ST> argument : argumentList) {
+            final InternalSuggestion<S, ST> suggestion = argument.getSuggestion();
+            if (!(suggestion instanceof RankedSuggestion) || argument instanceof LimitlessInternalArgument) continue;
+
+            final ArgumentInput input = arguments.get(argument.getName());
+            if (input == null || input.getInput().isEmpty()) continue;
+
+            ((RankedSuggestion<S, ST>) suggestion).record(sender, input.getInput());
+        }
+    }
+
+    private @NotNull InternalArgumentResult resolveString(
+            final @NotNull S sender,
+            final @NotNull StringInternalArgument<S, ST> argument,
+            final @NotNull ArgumentInput input
+    ) {
+        if (speculationCache != null && argument instanceof ResolverInternalArgument) {
+            final Object speculated = speculationCache.take(sender, argument, input.getInput());
+            if (speculated != null) return InternalArgument.valid(speculated);
+        }
+
+        return argument.resolve(sender, input);
+    }
+
     public @NotNull Map<String, ArgumentInput> mapArguments(final @NotNull Deque<String> arguments) {
         final Map<String, ArgumentInput> mappedArguments = new HashMap<>();
 
@@ -247,6 +303,19 @@ public class InternalLeafCommand<D, S, ST> implements InternalCommand<D, S, ST>
     public @NotNull List<ST> suggestions(
             final @NotNull S sender,
             final @NotNull List<String> arguments
+    ) {
+        final CompletionContext context = CompletionContext.acquire();
+        try {
+            return suggestions(sender, arguments, context);
+        } finally {
+            if (context != null) context.release();
+        }
+    }
+
+    @NotNull List<ST> suggestions(
+            final @NotNull S sender,
+            final @NotNull List<String> arguments,
+            final @Nullable CompletionContext context
     ) {
         if (arguments.isEmpty()) return emptyList();
 
@@ -254,20 +323,69 @@ public class InternalLeafCommand<D, S, ST> implements InternalCommand<D, S, ST>
         final InternalArgument<S, ST> currentArgument = getArgumentFromIndex(index);
         if (currentArgument == null) return emptyList();
 
-        final Map<String, String> argumentsMap = new HashMap<>();
-        for (int i = 0; i < argumentList.size(); i++) {
+        if (speculationCache != null) speculate(sender, arguments, index);
+
+        final Map<String, String> argumentsMap = context == null
+                ? new ArgumentsMap(argumentList, arguments)
+                : context.argumentsMap(argumentList, arguments);
+
+        return currentArgument.suggestions(sender, arguments.get(index), arguments, argumentsMap);
+    }
+
+    /**
+     * Gets the suggestions like {@link #suggestions(Object, List)}, without blocking on asynchronous suggestions.
+     * A newer request from the same sender cancels this one if it's still running.
+     *
+     * @param sender    The sender requesting the suggestions.
+     * @param arguments The typed arguments.
+     * @return A stage completing with the suggestions, or cancelled once it's stale.
+     */
+    public @NotNull CompletionStage<List<ST>> suggestionsAsync(
+            final @NotNull S sender,
+            final @NotNull List<String> arguments
+    ) {
+        if (arguments.isEmpty()) return CompletableFuture.completedFuture(emptyList());
+
+        final int index = arguments.size() - 1;
+        final InternalArgument<S, ST> currentArgument = getArgumentFromIndex(index);
+        if (currentArgument == null) return CompletableFuture.completedFuture(emptyList());
+
+        if (speculationCache != null) speculate(sender, arguments, index);
+
+        // Each keystroke is a new request, so whatever the sender was still waiting on here is stale
+        return pendingSuggestions.track(sender, currentArgument.suggestionsAsync(
+                sender,
+                arguments.get(index),
+                arguments,
+                new ArgumentsMap(argumentList, arguments),
+                Integer.MAX_VALUE
+        ));
+    }
+
+    /**
+     * Resolves the already completed tokens ahead of time, so the values can be reused on execution.
+     *
+     * @param sender    The sender typing the command.
+     * @param arguments The typed arguments.
+     * @param current   The index of the argument being typed, which is not complete yet.
+     */
+    private void speculate(final @NotNull S sender, final @NotNull List<String> arguments, final int current) {
+        final int completed = Math.min(current, argumentList.size());
+        for (int i = 0; i < completed; i++) {
             final InternalArgument<S, ST> argument = argumentList.get(i);
-            if (i < arguments.size()) {
-                argumentsMap.put(argument.getName(), arguments.get(i));
-            }
-        }
+            if (!(argument instanceof ResolverInternalArgument)) continue;
 
-        if (arguments.isEmpty()) {
-            return currentArgument.suggestions(sender, "", arguments, argumentsMap);
-        }
+            final ResolverInternalArgument<S, ST> resolverArgument = (ResolverInternalArgument<S, ST>) argument;
+            if (!resolverArgument.isSpeculative()) continue;
+
+            final String input = arguments.get(i);
+            if (input.isEmpty() || speculationCache.contains(sender, argument, input)) continue;
 
-        final String current = arguments.get(index);
-        return currentArgument.suggestions(sender, current, arguments, argumentsMap);
+            final InternalArgumentResult result = resolverArgument.resolve(sender, new ArgumentInput(input));
+            if (!(result instanceof InternalArgumentResult.Valid)) continue;
+
+            speculationCache.put(sender, argument, input, ((InternalArgumentResult.Valid) result).getValue());
+        }
     }
 
     public @Nullable InternalArgument<S, ST> getArgumentFromIndex(final int index) {
@@ -32,14 +32,23 @@ import dev.triumphteam.cmd.core.extension.sender.SenderExtension;
 import dev.triumphteam.cmd.core.message.MessageKey;
 import dev.triumphteam.cmd.core.message.context.InvalidCommandContext;
 import dev.triumphteam.cmd.core.processor.CommandProcessor;
+import dev.triumphteam.cmd.core.requirement.RequirementScope;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -53,6 +62,9 @@ import static java.util.Collections.emptyList;
  */
 public abstract class InternalParentCommand<D, S, ST> implements InternalCommand<D, S, ST> {
 
+    // How long the sub commands a sender can see are remembered for suggestions
+    private static final long VISIBILITY_TTL = TimeUnit.SECONDS.toNanos(5);
+
     private final Map<String, InternalCommand<D, S, ST>> commands = new HashMap<>();
     private final Map<String, InternalCommand<D, S, ST>> commandAliases = new HashMap<>();
     private final CommandMeta meta;
@@ -61,6 +73,10 @@ public abstract class InternalParentCommand<D, S, ST> implements InternalCommand
     private final SenderExtension<D, S> senderExtension;
     private final SuggestionMapper<ST> suggestionMapper;
 
+    // Rebuilt whenever commands are added, which invalidates the visibility of every sender
+    private volatile NameIndex<D, S, ST> nameIndex = new NameIndex<>(new HashMap<>());
+    private final Map<S, Visibility> visibilities = new WeakHashMap<>();
+
     public InternalParentCommand(final @NotNull CommandProcessor<D, S, ST> processor) {
         final Settings.Builder<D, S> settingsBuilder = new Settings.Builder<>();
         processor.captureRequirements(settingsBuilder);
@@ -98,6 +114,38 @@ public abstract class InternalParentCommand<D, S, ST> implements InternalCommand
                 this.commandAliases.put(alias, command);
             }
         }
+
+        this.nameIndex = new NameIndex<>(this.commands);
+    }
+
+    /**
+     * Forgets which sub commands the sender can see, for example after its permissions changed.
+     *
+     * @param sender The sender to forget.
+     */
+    public void invalidateVisibility(final @NotNull S sender) {
+        synchronized (visibilities) {
+            visibilities.remove(sender);
+        }
+
+        forEachParent(parent -> parent.invalidateVisibility(sender));
+    }
+
+    /**
+     * Forgets which sub commands every sender can see.
+     */
+    public void invalidateVisibility() {
+        synchronized (visibilities) {
+            visibilities.clear();
+        }
+
+        forEachParent(InternalParentCommand::invalidateVisibility);
+    }
+
+    private void forEachParent(final @NotNull Consumer<InternalParentCommand<D, S, ST>> consumer) {
+        for (final InternalCommand<D, S, ST> command : commands.values()) {
+            if (command instanceof InternalParentCommand) consumer.accept((InternalParentCommand<D, S, ST>) command);
+        }
     }
 
     protected void findAndExecute(
@@ -121,37 +169,131 @@ public abstract class InternalParentCommand<D, S, ST> implements InternalCommand
     public @NotNull List<ST> suggestions(
             final @NotNull S sender,
             final @NotNull Deque<String> arguments
+    ) {
+        final CompletionContext context = CompletionContext.acquire();
+        final boolean scoped = RequirementScope.open(sender);
+        try {
+            return suggestions(sender, arguments, context);
+        } finally {
+            if (scoped) RequirementScope.close();
+            if (context != null) context.release();
+        }
+    }
+
+    /**
+     * Gets the suggestions like {@link #suggestions(Object, Deque)}, straight from the typed arguments.
+     * The arguments are read into buffers reused by the thread, so completing doesn't allocate them every keystroke.
+     *
+     * @param sender    The sender requesting the suggestions.
+     * @param arguments The typed arguments.
+     * @return The suggestions.
+     */
+    public @NotNull List<ST> suggestions(
+            final @NotNull S sender,
+            final @NotNull String @NotNull [] arguments
+    ) {
+        final CompletionContext context = CompletionContext.acquire();
+        if (context == null) return suggestions(sender, new ArrayDeque<>(Arrays.asList(arguments)));
+
+        final boolean scoped = RequirementScope.open(sender);
+        try {
+            return suggestions(sender, context.deque(arguments), context);
+        } finally {
+            if (scoped) RequirementScope.close();
+            context.release();
+        }
+    }
+
+    @NotNull List<ST> suggestions(
+            final @NotNull S sender,
+            final @NotNull Deque<String> arguments,
+            final @Nullable CompletionContext context
     ) {
         final String argument = arguments.peek();
         if (argument == null) return emptyList();
 
+        final InternalCommand<D, S, ST> command = findCommand(sender, arguments, false);
+        if (command == null) return commandSuggestions(sender, argument);
+
+        if (command instanceof InternalBranchCommand) {
+            return ((InternalBranchCommand<D, S, ST>) command).suggestions(sender, arguments, context);
+        }
+
+        if (!(command instanceof InternalLeafCommand)) {
+            return emptyList();
+        }
+
+        final List<String> leafArguments = context == null ? new ArrayList<>(arguments) : context.arguments(arguments);
+        return ((InternalLeafCommand<D, S, ST>) command).suggestions(sender, leafArguments, context);
+    }
+
+    /**
+     * Gets the suggestions like {@link #suggestions(Object, Deque)}, without blocking on asynchronous suggestions.
+     *
+     * @param sender    The sender requesting the suggestions.
+     * @param arguments The typed arguments.
+     * @return A stage completing with the suggestions.
+     */
+    public @NotNull CompletionStage<List<ST>> suggestionsAsync(
+            final @NotNull S sender,
+            final @NotNull Deque<String> arguments
+    ) {
+        final String argument = arguments.peek();
+        if (argument == null) return CompletableFuture.completedFuture(emptyList());
+
         final InternalCommand<D, S, ST> command = findCommand(sender, arguments, false);
         if (command == null) {
-            return suggestionMapper.map(
-                    commands.entrySet().stream()
-                            // Remove the default command from the list.
-                            .filter(it -> !it.getValue().isDefault())
-                            // Filter commands the sender can't see.
-                            .filter(it -> it.getValue().getCommandSettings().testRequirements(sender, meta, senderExtension))
-                            // Commands that match what the sender is typing.
-                            .filter(it -> it.getKey().startsWith(argument))
-                            // Only use the names.
-                            .map(Map.Entry::getKey)
-                            .collect(Collectors.toList())
-            );
+            final boolean scoped = RequirementScope.open(sender);
+            try {
+                return CompletableFuture.completedFuture(commandSuggestions(sender, argument));
+            } finally {
+                if (scoped) RequirementScope.close();
+            }
         }
 
         if (command instanceof InternalBranchCommand) {
-            return ((InternalBranchCommand<D, S, ST>) command).suggestions(sender, arguments);
+            return ((InternalBranchCommand<D, S, ST>) command).suggestionsAsync(sender, arguments);
         }
 
         if (!(command instanceof InternalLeafCommand)) {
-            return emptyList();
+            return CompletableFuture.completedFuture(emptyList());
         }
 
-        return ((InternalLeafCommand<D, S, ST>) command).suggestions(sender, new ArrayList<>(arguments));
+        return ((InternalLeafCommand<D, S, ST>) command).suggestionsAsync(sender, new ArrayList<>(arguments));
     }
 
+    private @NotNull List<ST> commandSuggestions(final @NotNull S sender, final @NotNull String argument) {
+        final NameIndex<D, S, ST> index = this.nameIndex;
+
+        // Commands that match what the sender is typing, the requirements are only tested for these
+        final int from = index.firstMatch(argument);
+        final int to = index.lastMatch(argument, from);
+        if (from >= to) return suggestionMapper.map(emptyList());
+
+        final Visibility visibility = visibility(sender, index);
+        final List<String> names = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            final InternalCommand<D, S, ST> command = index.commands.get(i);
+            // Filter commands the sender can't see.
+            if (visibility.isVisible(i, () -> command.getCommandSettings().testRequirements(sender, meta, senderExtension))) {
+                names.add(index.names[i]);
+            }
+        }
+
+        return suggestionMapper.map(names);
+    }
+
+    private @NotNull Visibility visibility(final @NotNull S sender, final @NotNull NameIndex<D, S, ST> index) {
+        final long now = System.nanoTime();
+        synchronized (visibilities) {
+            final Visibility visibility = visibilities.get(sender);
+            if (visibility != null && visibility.index == index && now - visibility.expiresAt < 0) return visibility;
+
+            final Visibility created = new Visibility(index, now + VISIBILITY_TTL);
+            visibilities.put(sender, created);
+            return created;
+        }
+    }
 
     public @Nullable InternalCommand<D, S, ST> findCommand(
             final @NotNull S sender,
@@ -246,4 +388,85 @@ public abstract class InternalParentCommand<D, S, ST> implements InternalCommand
     protected @NotNull SenderExtension<D, S> getSenderExtension() {
         return senderExtension;
     }
+
+    /**
+     * The names of the sub commands that can be suggested, sorted so a prefix matches a range of them.
+     */
+    private static final class NameIndex<D, S, ST> {
+
+        private final String[] names;
+        private final List<InternalCommand<D, S, ST>> commands;
+
+        private NameIndex(final @NotNull Map<String, InternalCommand<D, S, ST>> commands) {
+            final List<Map.Entry<String, InternalCommand<D, S, ST>>> entries = commands.entrySet().stream()
+                    // Remove the default command from the list.
+                    .filter(it -> !it.getValue().isDefault())
+                    .sorted(Map.Entry.comparingByKey())
+                    .collect(Collectors.toList());
+
+            this.names = new String[entries.size()];
+            this.commands = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                names[i] = entries.get(i).getKey();
+                this.commands.add(entries.get(i).getValue());
+            }
+        }
+
+        // First name that is not smaller than the prefix
+        private int firstMatch(final @NotNull String prefix) {
+            int low = 0;
+            int high = names.length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (names[middle].compareTo(prefix) < 0) low = middle + 1;
+                else high = middle;
+            }
+            return low;
+        }
+
+        // First name after the start that no longer begins with the prefix
+        private int lastMatch(final @NotNull String prefix, final int from) {
+            int low = from;
+            int high = names.length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (names[middle].startsWith(prefix)) low = middle + 1;
+                else high = middle;
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Which sub commands of the index a sender can see, tested lazily as they're suggested.
+     */
+    private static final class Visibility {
+
+        private static final byte UNKNOWN = 0;
+        private static final byte VISIBLE = 1;
+        private static final byte HIDDEN = 2;
+
+        private final NameIndex<?, ?, ?> index;
+        private final long expiresAt;
+        private final byte[] states;
+
+        private Visibility(final @NotNull NameIndex<?, ?, ?> index, final long expiresAt) {
+            this.index = index;
+            this.expiresAt = expiresAt;
+            this.states = new byte[index.names.length];
+        }
+
+        private boolean isVisible(final int position, final @NotNull BooleanSupplier test) {
+            synchronized (states) {
+                if (states[position] != UNKNOWN) return states[position] == VISIBLE;
+            }
+
+            // Tested outside the lock, a concurrent test of the same command gives the same result
+            final boolean visible = test.getAsBoolean();
+            synchronized (states) {
+                states[position] = visible ? VISIBLE : HIDDEN;
+            }
+            return visible;
+        }
+    }
 }
@@ -26,6 +26,7 @@ package dev.triumphteam.cmd.core.command;
 import dev.triumphteam.cmd.core.exceptions.CommandExecutionException;
 import dev.triumphteam.cmd.core.extension.meta.MetaKey;
 import dev.triumphteam.cmd.core.processor.RootCommandProcessor;
+import dev.triumphteam.cmd.core.requirement.RequirementScope;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.InvocationTargetException;
@@ -52,15 +53,21 @@ public class InternalRootCommand<D, S, ST> extends InternalParentCommand<D, S, S
             final @NotNull S sender,
             final @NotNull Deque<String> arguments
     ) {
-        // Test all requirements before continuing
-        if (!getSettings().testRequirements(getMessageRegistry(), sender, getMeta(), getSenderExtension())) return;
-
-        // Executing the command and catch all exceptions to rethrow with a better message
+        // Requirements tested again by the same command, or shared by meta independent resolvers, are only resolved once
+        final boolean scoped = RequirementScope.open(sender);
         try {
-            findAndExecute(sender, null, arguments);
-        } catch (final @NotNull Throwable exception) {
-            throw new CommandExecutionException("An error occurred while executing the command")
-                    .initCause(exception instanceof InvocationTargetException ? exception.getCause() : exception);
+            // Test all requirements before continuing
+            if (!getSettings().testRequirements(getMessageRegistry(), sender, getMeta(), getSenderExtension())) return;
+
+            // Executing the command and catch all exceptions to rethrow with a better message
+            try {
+                findAndExecute(sender, null, arguments);
+            } catch (final @NotNull Throwable exception) {
+                throw new CommandExecutionException("An error occurred while executing the command")
+                        .initCause(exception instanceof InvocationTargetException ? exception.getCause() : exception);
+            }
+        } finally {
+            if (scoped) RequirementScope.close();
         }
     }
 
@@ -44,6 +44,17 @@ public final class CommandExecutionException extends RuntimeException {
         super(message + ". On \"" + parent + "\" command on \"" + command + "\" sub command.");
     }
 
+    /**
+     * Wraps a failure that already carries its own stack trace, so this one isn't filled in.
+     * Used on paths that can fail repeatedly, like suggestions, where capturing the trace every time adds up.
+     *
+     * @param message The message of the exception.
+     * @param cause   The failure being wrapped.
+     */
+    public CommandExecutionException(final @NotNull String message, final @NotNull Throwable cause) {
+        super(message, cause, false, false);
+    }
+
     @Contract("_ -> this")
     @Override
     public synchronized @NotNull CommandExecutionException initCause(final @Nullable Throwable cause) {
@@ -24,11 +24,15 @@
 package dev.triumphteam.cmd.core.extension;
 
 import dev.triumphteam.cmd.core.CommandManager;
+import dev.triumphteam.cmd.core.argument.SpeculationCache;
 import dev.triumphteam.cmd.core.extension.sender.SenderExtension;
 import dev.triumphteam.cmd.core.suggestion.SuggestionMethod;
+import dev.triumphteam.cmd.core.suggestion.SuggestionRanking;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.function.Consumer;
 
 public class CommandOptions<O extends CommandOptions<O, M, D, S, ST>, M extends CommandManager<M, O, D, S, ST>, D, S, ST> {
@@ -37,6 +41,8 @@ public class CommandOptions<O extends CommandOptions<O, M, D, S, ST>, M extends
     private final boolean suggestLowercaseEnum;
     private final Consumer<M> setup;
     private final SuggestionMethod suggestionMethod;
+    private final SpeculationCache<S> speculationCache;
+    private final SuggestionRanking suggestionRanking;
 
     public CommandOptions(
             final @NotNull SenderExtension<D, S> senderExtension,
@@ -47,6 +53,8 @@ public class CommandOptions<O extends CommandOptions<O, M, D, S, ST>, M extends
         this.suggestLowercaseEnum = builder.suggestLowercaseEnum;
         this.setup = builder.setup;
         this.suggestionMethod = builder.suggestionMethod;
+        this.speculationCache = builder.speculationTtl == null ? null : new SpeculationCache<>(builder.speculationTtl);
+        this.suggestionRanking = builder.suggestionRanking;
     }
 
     public @NotNull CommandExtensions<D, S, ST> getCommandExtensions() {
@@ -65,12 +73,28 @@ public class CommandOptions<O extends CommandOptions<O, M, D, S, ST>, M extends
         return suggestLowercaseEnum;
     }
 
+    /**
+     * @return The cache for values resolved during tab completion, or null if speculative resolution is disabled.
+     */
+    public @Nullable SpeculationCache<S> getSpeculationCache() {
+        return speculationCache;
+    }
+
+    /**
+     * @return The ranking suggestions are ordered by, or null if suggestions keep the order they were resolved in.
+     */
+    public @Nullable SuggestionRanking getSuggestionRanking() {
+        return suggestionRanking;
+    }
+
     public static abstract class Builder<B extends Builder<B, M, O, D, S, ST>, M extends CommandManager<M, O, D, S, ST>, O extends CommandOptions<O, M, D, S, ST>, D, S, ST> {
 
         private final ExtensionBuilder<D, S, ST> extensionBuilder = new ExtensionBuilder<>();
         private Consumer<M> setup = setup -> {};
         private boolean suggestLowercaseEnum = false;
         private SuggestionMethod suggestionMethod = SuggestionMethod.STARTS_WITH;
+        private Duration speculationTtl = null;
+        private SuggestionRanking suggestionRanking = null;
 
         protected abstract @NotNull B getThis();
 
@@ -97,5 +121,32 @@ public class CommandOptions<O extends CommandOptions<O, M, D, S, ST>, M extends
             this.suggestionMethod = suggestionMethod;
             return getThis();
         }
+
+        /**
+         * Enables speculative resolution, arguments already typed are resolved during tab completion,
+         * and the values are reused when the command is executed with the same input within the given time.
+         * Resolvers can opt out through {@link dev.triumphteam.cmd.core.argument.ArgumentResolver#isSpeculative()}.
+         *
+         * @param ttl How long a value resolved ahead of time can still be used.
+         * @return This builder.
+         */
+        @Contract("_ -> this")
+        public @NotNull B speculativeResolution(final @NotNull Duration ttl) {
+            this.speculationTtl = ttl;
+            return getThis();
+        }
+
+        /**
+         * Orders suggestions by how often each value was executed, after they're filtered and before the limit is applied.
+         * Keep a reference to the ranking to save and load its counts between restarts.
+         *
+         * @param ranking The ranking to record executions in.
+         * @return This builder.
+         */
+        @Contract("_ -> this")
+        public @NotNull B suggestionRanking(final @NotNull SuggestionRanking ranking) {
+            this.suggestionRanking = ranking;
+            return getThis();
+        }
     }
 }
@@ -26,6 +26,7 @@ package dev.triumphteam.cmd.core.extension;
 import dev.triumphteam.cmd.core.suggestion.SuggestionMethod;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public interface SuggestionMapper<ST> {
@@ -40,5 +41,26 @@ public interface SuggestionMapper<ST> {
 
     @NotNull List<ST> filter(final @NotNull String input, final @NotNull List<ST> values, final SuggestionMethod method);
 
+    /**
+     * Filters the values like {@link #filter(String, List, SuggestionMethod)}, but returns at most {@code limit} of them.
+     * Implementations should stop filtering once enough values matched.
+     *
+     * @param input  The current input.
+     * @param values The values to filter.
+     * @param method The method to filter with.
+     * @param limit  The maximum amount of values to return.
+     * @return The first matching values.
+     */
+    default @NotNull List<ST> filter(
+            final @NotNull String input,
+            final @NotNull List<ST> values,
+            final SuggestionMethod method,
+            final int limit
+    ) {
+        final List<ST> filtered = filter(input, values, method);
+        if (filtered.size() <= limit) return filtered;
+        return new ArrayList<>(filtered.subList(0, Math.max(limit, 0)));
+    }
+
     @NotNull Class<?> getType();
 }
@@ -24,11 +24,13 @@
 package dev.triumphteam.cmd.core.extension.defaults;
 
 import dev.triumphteam.cmd.core.extension.SuggestionMapper;
+import dev.triumphteam.cmd.core.suggestion.FuzzyMatcher;
 import dev.triumphteam.cmd.core.suggestion.SuggestionMethod;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 public final class DefaultSuggestionMapper implements SuggestionMapper<String> {
 
@@ -44,16 +46,49 @@ public final class DefaultSuggestionMapper implements SuggestionMapper<String> {
 
     @Override
     public @NotNull List<String> filter(final @NotNull String input, final @NotNull List<String> values, final SuggestionMethod method) {
+        return filter(input, values, method, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public @NotNull List<String> filter(
+            final @NotNull String input,
+            final @NotNull List<String> values,
+            final SuggestionMethod method,
+            final int limit
+    ) {
         switch (method) {
             case STARTS_WITH:
-                return values.stream().filter(it -> it.toLowerCase().startsWith(input.toLowerCase())).collect(Collectors.toList());
+                return startingWith(input, values, limit);
 
             case CONTAINS:
-                return values.stream().filter(it -> it.toLowerCase().contains(input.toLowerCase())).collect(Collectors.toList());
+                return containing(input, values, limit);
+
+            case FUZZY:
+                return FuzzyMatcher.filter(input, values, Function.identity(), limit);
 
             default:
-                return values;
+                return values.size() <= limit ? values : values.subList(0, limit);
+        }
+    }
+
+    // Plain loops, this runs on every keystroke
+    private static @NotNull List<String> startingWith(final @NotNull String input, final @NotNull List<String> values, final int limit) {
+        final List<String> result = new ArrayList<>();
+        for (int i = 0; i < values.size() && result.size() < limit; i++) {
+            final String value = values.get(i);
+            if (value.regionMatches(true, 0, input, 0, input.length())) result.add(value);
+        }
+        return result;
+    }
+
+    private static @NotNull List<String> containing(final @NotNull String input, final @NotNull List<String> values, final int limit) {
+        final String lowerInput = input.toLowerCase();
+        final List<String> result = new ArrayList<>();
+        for (int i = 0; i < values.size() && result.size() < limit; i++) {
+            final String value = values.get(i);
+            if (value.toLowerCase().contains(lowerInput)) result.add(value);
         }
+        return result;
     }
 
     @Override
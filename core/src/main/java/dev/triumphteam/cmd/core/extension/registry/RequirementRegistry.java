@@ -23,11 +23,13 @@
  */
 package dev.triumphteam.cmd.core.extension.registry;
 
+import dev.triumphteam.cmd.core.requirement.CachedRequirementResolver;
 import dev.triumphteam.cmd.core.requirement.RequirementKey;
 import dev.triumphteam.cmd.core.requirement.RequirementResolver;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -39,6 +41,7 @@ import java.util.Map;
 public final class RequirementRegistry<D, S> implements Registry {
 
     private final Map<RequirementKey, RequirementResolver<D, S>> requirements = new HashMap<>();
+    private final Map<RequirementKey, CachedRequirementResolver<D, S>> cachedRequirements = new HashMap<>();
 
     /**
      * Registers a new {@link RequirementResolver} for the specific Key.
@@ -48,6 +51,24 @@ public final class RequirementRegistry<D, S> implements Registry {
      */
     public void register(final @NotNull RequirementKey key, final @NotNull RequirementResolver<D, S> resolver) {
         requirements.put(key, resolver);
+        cachedRequirements.remove(key);
+    }
+
+    /**
+     * Registers a new {@link RequirementResolver} for the specific Key, caching its results per sender and command.
+     *
+     * @param key      The requirement key.
+     * @param resolver The resolver to check if the requirement is met.
+     * @param ttl      How long the result of a sender is kept.
+     */
+    public void register(
+            final @NotNull RequirementKey key,
+            final @NotNull RequirementResolver<D, S> resolver,
+            final @NotNull Duration ttl
+    ) {
+        final CachedRequirementResolver<D, S> cached = new CachedRequirementResolver<>(resolver, ttl);
+        requirements.put(key, cached);
+        cachedRequirements.put(key, cached);
     }
 
     /**
@@ -59,4 +80,27 @@ public final class RequirementRegistry<D, S> implements Registry {
     public @Nullable RequirementResolver<D, S> getRequirement(final @NotNull RequirementKey key) {
         return requirements.get(key);
     }
+
+    /**
+     * Clears the cached results of the requirement with the given key.
+     *
+     * @param key The requirement key.
+     */
+    public void invalidate(final @NotNull RequirementKey key) {
+        final CachedRequirementResolver<D, S> cached = cachedRequirements.get(key);
+        if (cached != null) cached.invalidateAll();
+    }
+
+    /**
+     * Clears the cached results of every requirement for the sender.
+     *
+     * @param sender The sender.
+     */
+    public void invalidateSender(final @NotNull S sender) {
+        cachedRequirements.values().forEach(cached -> cached.invalidate(sender));
+    }
+
+    public void invalidateAll() {
+        cachedRequirements.values().forEach(CachedRequirementResolver::invalidateAll);
+    }
 }
@@ -37,6 +37,8 @@ import dev.triumphteam.cmd.core.argument.CollectionInternalArgument;
 import dev.triumphteam.cmd.core.argument.EnumInternalArgument;
 import dev.triumphteam.cmd.core.argument.InternalArgument;
 import dev.triumphteam.cmd.core.argument.JoinedStringInternalArgument;
+import dev.triumphteam.cmd.core.argument.Lazy;
+import dev.triumphteam.cmd.core.argument.LazyInternalArgument;
 import dev.triumphteam.cmd.core.argument.ResolverInternalArgument;
 import dev.triumphteam.cmd.core.argument.SplitStringInternalArgument;
 import dev.triumphteam.cmd.core.argument.StringInternalArgument;
@@ -53,16 +55,19 @@ import dev.triumphteam.cmd.core.exceptions.CommandRegistrationException;
 import dev.triumphteam.cmd.core.extension.CommandOptions;
 import dev.triumphteam.cmd.core.extension.SuggestionMapper;
 import dev.triumphteam.cmd.core.extension.meta.CommandMeta;
+import dev.triumphteam.cmd.core.extension.meta.MetaKey;
 import dev.triumphteam.cmd.core.extension.registry.ArgumentRegistry;
 import dev.triumphteam.cmd.core.extension.registry.RegistryContainer;
 import dev.triumphteam.cmd.core.suggestion.EmptySuggestion;
 import dev.triumphteam.cmd.core.suggestion.EnumSuggestion;
 import dev.triumphteam.cmd.core.suggestion.InternalSuggestion;
+import dev.triumphteam.cmd.core.suggestion.RankedSuggestion;
 import dev.triumphteam.cmd.core.suggestion.SimpleSuggestion;
 import dev.triumphteam.cmd.core.suggestion.SimpleSuggestionHolder;
 import dev.triumphteam.cmd.core.suggestion.SuggestionContext;
 import dev.triumphteam.cmd.core.suggestion.SuggestionKey;
 import dev.triumphteam.cmd.core.suggestion.SuggestionMethod;
+import dev.triumphteam.cmd.core.suggestion.SuggestionRanking;
 import dev.triumphteam.cmd.core.suggestion.SuggestionRegistry;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -80,6 +85,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -94,6 +100,7 @@ import java.util.stream.Collectors;
 abstract class AbstractCommandProcessor<D, S, ST> implements CommandProcessor<D, S, ST> {
 
     private static final Set<Class<?>> SUPPORTED_COLLECTIONS = new HashSet<>(Arrays.asList(List.class, Set.class));
+    private static final Set<Class<?>> LAZY_TYPES = new HashSet<>(Arrays.asList(Lazy.class, Supplier.class));
 
     private final Object invocationInstance;
     private final String name;
@@ -222,6 +229,35 @@ abstract class AbstractCommandProcessor<D, S, ST> implements CommandProcessor<D,
             }
         }
 
+        // Handles lazy arguments, which are only resolved when the value is requested.
+        if (LAZY_TYPES.contains(type)) {
+            final InternalSuggestion<S, ST> suggestion = ranked(meta, argumentName, suggestions.getOrDefault(position, suggestionFromParam(parameter)));
+            final StringInternalArgument<S, ST> argument = createSimpleArgument(
+                    meta,
+                    getGenericType(parameter),
+                    argumentName,
+                    argumentDescription,
+                    suggestion,
+                    null,
+                    isOptional
+            );
+
+            // Same as collections, the wrapped type must be known
+            if (argument instanceof UnknownInternalArgument) {
+                throw createException("No internalArgument of type \"" + argument.getType().getName() + "\" registered");
+            }
+
+            return new LazyInternalArgument<>(
+                    meta,
+                    argumentName,
+                    argumentDescription,
+                    argument,
+                    suggestion,
+                    defaultValue,
+                    isOptional
+            );
+        }
+
         // Handles collection internalArgument.
         if (SUPPORTED_COLLECTIONS.stream().anyMatch(it -> it.isAssignableFrom(type))) {
             final Class<?> collectionType = getGenericType(parameter);
@@ -276,7 +312,7 @@ abstract class AbstractCommandProcessor<D, S, ST> implements CommandProcessor<D,
                     argumentName,
                     argumentDescription,
                     joinAnnotation.value(),
-                    suggestions.getOrDefault(position, suggestionFromParam(parameter)),
+                    ranked(meta, argumentName, suggestions.getOrDefault(position, suggestionFromParam(parameter))),
                     defaultValue,
                     isOptional
             );
@@ -313,12 +349,33 @@ abstract class AbstractCommandProcessor<D, S, ST> implements CommandProcessor<D,
                 type,
                 argumentName,
                 argumentDescription,
-                suggestions.getOrDefault(position, suggestionFromParam(parameter)),
+                ranked(meta, argumentName, suggestions.getOrDefault(position, suggestionFromParam(parameter))),
                 defaultValue,
                 isOptional
         );
     }
 
+    /**
+     * Wraps the suggestion of an argument so it's ordered by the configured ranking, if there is one.
+     * Arguments are identified by the full command path and their name, so the counts survive restarts.
+     */
+    private @NotNull InternalSuggestion<S, ST> ranked(
+            final @NotNull CommandMeta meta,
+            final @NotNull String argumentName,
+            final @NotNull InternalSuggestion<S, ST> suggestion
+    ) {
+        final SuggestionRanking ranking = commandOptions.getSuggestionRanking();
+        if (ranking == null) return suggestion;
+
+        final StringBuilder id = new StringBuilder(argumentName);
+        for (CommandMeta current = meta; current != null; current = current.getParentMeta()) {
+            final String name = current.getNullable(MetaKey.NAME);
+            if (name != null) id.insert(0, name + ' ');
+        }
+
+        return RankedSuggestion.of(suggestion, ranking, suggestionMapper, id.toString());
+    }
+
     protected @NotNull StringInternalArgument<S, ST> createSimpleArgument(
             final @NotNull CommandMeta meta,
             final @NotNull Class<?> type,
@@ -498,9 +555,13 @@ abstract class AbstractCommandProcessor<D, S, ST> implements CommandProcessor<D,
 
     private @NotNull Class<?> getGenericType(final @NotNull Parameter parameter) {
         final Class<?> type = parameter.getType();
-        if (SUPPORTED_COLLECTIONS.stream().anyMatch(it -> it.isAssignableFrom(type))) {
-            final ParameterizedType parameterizedType = (ParameterizedType) parameter.getParameterizedType();
-            final Type[] types = parameterizedType.getActualTypeArguments();
+        if (LAZY_TYPES.contains(type) || SUPPORTED_COLLECTIONS.stream().anyMatch(it -> it.isAssignableFrom(type))) {
+            final Type parameterType = parameter.getParameterizedType();
+            if (!(parameterType instanceof ParameterizedType)) {
+                throw createException("Missing generic type for \"" + type + "\"");
+            }
+
+            final Type[] types = ((ParameterizedType) parameterType).getActualTypeArguments();
 
             if (types.length != 1) {
                 throw createException("Unsupported collection type \"" + type + "\"");
@@ -593,7 +654,8 @@ abstract class AbstractCommandProcessor<D, S, ST> implements CommandProcessor<D,
             }
 
             final InternalSuggestion<S, ST> suggestion = suggestionRegistry.getSuggestion(type);
-            if (suggestion != null) return suggestion;
+            // Type suggestions are shared by every argument of that type, which must not share their state
+            if (suggestion != null) return suggestion.forArgument();
 
             return new EmptySuggestion<>();
         }
@@ -0,0 +1,115 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.requirement;
+
+import dev.triumphteam.cmd.core.extension.meta.CommandMeta;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A {@link RequirementResolver} that remembers the result of another one per sender and command for a while.
+ * If the wrapped resolver is {@link RequirementResolver#isMetaIndependent() meta independent},
+ * the result is kept per sender only and shared by every command using the requirement.
+ *
+ * @param <D> The default sender type.
+ * @param <S> The command sender type.
+ */
+public final class CachedRequirementResolver<D, S> implements RequirementResolver<D, S> {
+
+    private final RequirementResolver<D, S> resolver;
+    private final long ttl;
+
+    // Results by sender and then by command meta, a null meta when the resolver is meta independent
+    private final Map<S, Map<CommandMeta, Result>> results = new WeakHashMap<>();
+
+    public CachedRequirementResolver(final @NotNull RequirementResolver<D, S> resolver, final @NotNull Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("Requirement cache TTL must be positive.");
+
+        this.resolver = resolver;
+        this.ttl = ttl.toNanos();
+    }
+
+    @Override
+    public boolean resolve(final @NotNull S sender, final @NotNull RequirementContext<D, S> context) {
+        final CommandMeta meta = RequirementScope.keyOf(resolver, context.getMeta());
+        final long now = System.nanoTime();
+        synchronized (results) {
+            final Map<CommandMeta, Result> byMeta = results.get(sender);
+            final Result cached = byMeta == null ? null : byMeta.get(meta);
+            if (cached != null && now - cached.expiresAt < 0) return cached.value;
+        }
+
+        // Resolved outside the lock, a resolver may be slow
+        final boolean value = resolver.resolve(sender, context);
+        synchronized (results) {
+            results.computeIfAbsent(sender, it -> new IdentityHashMap<>()).put(meta, new Result(value, now + ttl));
+        }
+        return value;
+    }
+
+    @Override
+    public boolean isMetaIndependent() {
+        return resolver.isMetaIndependent();
+    }
+
+    /**
+     * Forgets the result of the sender, so it's resolved again the next time.
+     *
+     * @param sender The sender.
+     */
+    public void invalidate(final @NotNull S sender) {
+        synchronized (results) {
+            results.remove(sender);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "CachedRequirementResolver{" +
+                "resolver=" + resolver +
+                ", ttl=" + Duration.ofNanos(ttl) +
+                '}';
+    }
+
+    private static final class Result {
+
+        private final boolean value;
+        private final long expiresAt;
+
+        private Result(final boolean value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
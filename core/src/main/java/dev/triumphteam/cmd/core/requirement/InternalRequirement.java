@@ -42,6 +42,9 @@ public final class InternalRequirement<D, S> implements Requirement<D, S> {
     private final MessageKey<MessageContext> messageKey;
     private final boolean invert;
 
+    // The context of the last test, reused while the command and mapper stay the same
+    private volatile SimpleRequirementContext<D, S> context = null;
+
     public InternalRequirement(
             final @NotNull RequirementResolver<D, S> resolver,
             final @NotNull MessageKey<MessageContext> messageKey,
@@ -58,7 +61,23 @@ public final class InternalRequirement<D, S> implements Requirement<D, S> {
             final @NotNull CommandMeta meta,
             final @NotNull SenderMapper<D, S> senderMapper
     ) {
-        return resolver.resolve(sender, new SimpleRequirementContext<>(meta, senderMapper)) != invert;
+        // Resolvers already called for this command during the dispatch aren't called again
+        final Boolean resolved = RequirementScope.get(sender, resolver, meta);
+        if (resolved != null) return resolved != invert;
+
+        return RequirementScope.put(sender, resolver, meta, resolver.resolve(sender, context(meta, senderMapper))) != invert;
+    }
+
+    private @NotNull RequirementContext<D, S> context(
+            final @NotNull CommandMeta meta,
+            final @NotNull SenderMapper<D, S> senderMapper
+    ) {
+        final SimpleRequirementContext<D, S> current = context;
+        if (current != null && current.getMeta() == meta && current.getSenderMapper() == senderMapper) return current;
+
+        final SimpleRequirementContext<D, S> created = new SimpleRequirementContext<>(meta, senderMapper);
+        context = created;
+        return created;
     }
 
     @Override
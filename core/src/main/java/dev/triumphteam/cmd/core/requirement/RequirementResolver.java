@@ -27,6 +27,8 @@ import org.jetbrains.annotations.NotNull;
 
 /**
  * Functional interface to allow simple requirement registering without the use of any hard coded data.
+ * A resolver is only called once per sender and command during a single dispatch,
+ * or once per sender if it is {@link #isMetaIndependent() meta independent}.
  *
  * @param <D> The default sender type.
  * @param <S> The command sender type.
@@ -44,4 +46,15 @@ public interface RequirementResolver<D, S> {
             final @NotNull S sender,
             final @NotNull RequirementContext<D, S> context
     );
+
+    /**
+     * Whether the result only depends on the sender and never on {@link RequirementContext#getMeta()}.
+     * The result of a meta independent resolver is shared by every command requiring it, both during a dispatch
+     * and in the cache of {@link CachedRequirementResolver}, otherwise it's only shared by the same command.
+     *
+     * @return Whether the resolver ignores the command meta.
+     */
+    default boolean isMetaIndependent() {
+        return false;
+    }
 }
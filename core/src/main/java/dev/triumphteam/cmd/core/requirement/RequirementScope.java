@@ -0,0 +1,109 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.requirement;
+
+import dev.triumphteam.cmd.core.extension.meta.CommandMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the results of requirement resolvers for the duration of a single dispatch on the current thread.
+ * Results are kept per command meta, the root, branches, leaf and sibling commands often require the same thing,
+ * which {@link RequirementResolver#isMetaIndependent() meta independent} resolvers then only resolve once per dispatch.
+ * The scope is closed before the command method runs, so commands it dispatches resolve everything again.
+ */
+public final class RequirementScope {
+
+    private static final ThreadLocal<RequirementScope> SCOPES = ThreadLocal.withInitial(RequirementScope::new);
+
+    // Results by resolver and then by command meta, meta independent resolvers are under a null meta
+    private final Map<RequirementResolver<?, ?>, Map<CommandMeta, Boolean>> results = new IdentityHashMap<>();
+    // The sender of the dispatch, null while the scope isn't open
+    private Object sender = null;
+
+    private RequirementScope() {}
+
+    /**
+     * Opens the scope of the current thread for a dispatch of the sender.
+     *
+     * @param sender The sender dispatching.
+     * @return Whether it was opened, false if a dispatch already has it open, in which case it must not be closed.
+     */
+    public static boolean open(final @NotNull Object sender) {
+        final RequirementScope scope = SCOPES.get();
+        if (scope.sender != null) return false;
+
+        scope.sender = sender;
+        return true;
+    }
+
+    /**
+     * Closes the scope of the current thread, forgetting every result.
+     */
+    public static void close() {
+        final RequirementScope scope = SCOPES.get();
+        scope.sender = null;
+        scope.results.clear();
+    }
+
+    /**
+     * @return The result the resolver had for the sender and command in the open scope, or null if it wasn't called yet.
+     */
+    static @Nullable Boolean get(
+            final @NotNull Object sender,
+            final @NotNull RequirementResolver<?, ?> resolver,
+            final @NotNull CommandMeta meta
+    ) {
+        final RequirementScope scope = SCOPES.get();
+        if (scope.sender != sender) return null;
+
+        final Map<CommandMeta, Boolean> byMeta = scope.results.get(resolver);
+        return byMeta == null ? null : byMeta.get(keyOf(resolver, meta));
+    }
+
+    /**
+     * Remembers the result of the resolver for the command if a scope is open for the sender.
+     *
+     * @return The result.
+     */
+    static boolean put(
+            final @NotNull Object sender,
+            final @NotNull RequirementResolver<?, ?> resolver,
+            final @NotNull CommandMeta meta,
+            final boolean result
+    ) {
+        final RequirementScope scope = SCOPES.get();
+        if (scope.sender == sender) {
+            scope.results.computeIfAbsent(resolver, it -> new IdentityHashMap<>()).put(keyOf(resolver, meta), result);
+        }
+        return result;
+    }
+
+    static @Nullable CommandMeta keyOf(final @NotNull RequirementResolver<?, ?> resolver, final @NotNull CommandMeta meta) {
+        return resolver.isMetaIndependent() ? null : meta;
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import dev.triumphteam.cmd.core.extension.SuggestionMapper;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Suggestion backed by an {@link AsyncSuggestionResolver}, the values are filtered once the resolver completes.
+ */
+public final class AsyncSuggestion<S, ST> implements InternalSuggestion.Async<S, ST> {
+
+    private final AsyncSuggestionResolver<S, ST> resolver;
+    private final SuggestionMapper<ST> mapper;
+    private final SuggestionMethod method;
+    private final String extra;
+
+    public AsyncSuggestion(
+            final @NotNull AsyncSuggestionResolver<S, ST> resolver,
+            final @NotNull SuggestionMapper<ST> mapper,
+            final @NotNull SuggestionMethod method
+    ) {
+        this(resolver, mapper, method, "");
+    }
+
+    public AsyncSuggestion(
+            final @NotNull AsyncSuggestionResolver<S, ST> resolver,
+            final @NotNull SuggestionMapper<ST> mapper,
+            final @NotNull SuggestionMethod method,
+            final @NotNull String extra
+    ) {
+        this.resolver = resolver;
+        this.mapper = mapper;
+        this.method = method;
+        this.extra = extra;
+    }
+
+    @Override
+    public @NotNull CompletionStage<List<ST>> getSuggestionsAsync(
+            final @NotNull S sender,
+            final @NotNull String current,
+            final @NotNull List<String> arguments,
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
+    ) {
+        final CompletableFuture<List<ST>> resolved = resolver.resolve(SuggestionContext.of(current, sender, arguments, argumentsMap, extra, limit))
+                .toCompletableFuture();
+
+        final CompletableFuture<List<ST>> filtered = resolved.thenApply(suggestions -> mapper.filter(current, suggestions, method, limit));
+
+        // A stale request cancels the filtering, the resolver's own stage only if it allows it, since it may be shared
+        if (!resolver.isCancellable()) return filtered;
+        return PendingSuggestions.propagateCancellation(filtered, resolved);
+    }
+
+    @Override
+    public @NotNull InternalSuggestion<S, ST> copy(final @NotNull SuggestionMethod method, final @NotNull String extra) {
+        return new AsyncSuggestion<>(resolver, mapper, method, extra);
+    }
+}
@@ -21,34 +21,36 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-package dev.triumphteam.cmd.core.argument.keyed;
+package dev.triumphteam.cmd.core.suggestion;
 
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-class SimpleArgumentValue implements ArgumentValue {
+import java.util.List;
+import java.util.concurrent.CompletionStage;
 
-    private final String rawValue;
-    private final Object value;
+/**
+ * Functional interface for suggestions that are resolved asynchronously, like ones coming from a database or a web service.
+ * Platforms that support it complete the suggestions off their main thread, the others use them once they're done.
+ */
+@FunctionalInterface
+public interface AsyncSuggestionResolver<S, ST> {
 
-    public SimpleArgumentValue(final @NotNull String rawValue, final @NotNull Object value) {
-        this.rawValue = rawValue;
-        this.value = value;
-    }
+    @NotNull CompletionStage<List<ST>> resolve(final @NotNull SuggestionContext<S> context);
 
-    public @Nullable Object getValue() {
-        return value;
+    /**
+     * Whether the stages returned by {@link #resolve(SuggestionContext)} may be cancelled once the request is stale.
+     * Only opt in when every call returns a new stage, a shared or memoized one would stay cancelled for every sender.
+     *
+     * @return Whether the resolver's stages can be cancelled.
+     */
+    default boolean isCancellable() {
+        return false;
     }
 
-    public @NotNull String getAsString() {
-        return rawValue;
-    }
+    @FunctionalInterface
+    interface Simple<S> extends AsyncSuggestionResolver<S, String> {
 
-    @Override
-    public String toString() {
-        return "Simple{" +
-                "rawValue='" + rawValue + '\'' +
-                ", value=" + value +
-                '}';
+        @Override
+        @NotNull CompletionStage<List<String>> resolve(final @NotNull SuggestionContext<S> context);
     }
 }
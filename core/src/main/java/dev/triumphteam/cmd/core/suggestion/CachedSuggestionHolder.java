@@ -0,0 +1,331 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Wraps a {@link SimpleSuggestionHolder} and caches its results following a {@link SuggestionCachePolicy}.
+ * Requests that miss the same entry at the same time share one call to the wrapped holder,
+ * waiting for it for a short while before falling back to the expired results, or to none.
+ *
+ * @param <S>  The sender type.
+ * @param <ST> The suggestion type.
+ */
+public final class CachedSuggestionHolder<S, ST> implements SimpleSuggestionHolder<S, ST> {
+
+    // How long a request waits for a resolution started by another one before using the stale results
+    private static final long MAX_WAIT_MILLIS = 50;
+
+    private final SimpleSuggestionHolder<S, ST> holder;
+    private final SuggestionCachePolicy policy;
+    private final String[] dependencies;
+    private final long ttl;
+
+    // Access ordered, so iteration goes from the least to the most recently used
+    private final LinkedHashMap<Key, Entry<ST>> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Resolutions in progress, concurrent misses of the same key wait for the first one instead of calling the resolver again
+    private final Map<Key, InFlight<ST>> inFlight = new HashMap<>();
+
+    // Bumped on every invalidation, so results derived from older cached ones can tell they're outdated
+    private volatile int version = 0;
+
+    public CachedSuggestionHolder(
+            final @NotNull SimpleSuggestionHolder<S, ST> holder,
+            final @NotNull SuggestionCachePolicy policy
+    ) {
+        this.holder = holder;
+        this.policy = policy;
+        this.dependencies = policy.getDependencies().toArray(new String[0]);
+        this.ttl = policy.getTtl().toNanos();
+    }
+
+    @Override
+    public @NotNull List<ST> getSuggestions(final @NotNull SuggestionContext<S> context) {
+        final Key key = createKey(context);
+        final long now = System.nanoTime();
+
+        synchronized (cache) {
+            final Entry<ST> entry = cache.get(key);
+            if (entry != null && !entry.isExpired(now)) {
+                entry.hits++;
+                return entry.suggestions;
+            }
+        }
+
+        // Resolving outside the lock, concurrent misses of the same key share a single resolution
+        // The cached result is shared by every request, so it's resolved without the caller's limit
+        return resolve(key, context.getLimit() == Integer.MAX_VALUE ? context : SuggestionContext.of(
+                context.getInput(),
+                context.getSender(),
+                context.getArguments(),
+                context.getArgumentsMap(),
+                context.getExtra()
+        ));
+    }
+
+    /**
+     * Checks if the results for the sender should be prefetched, which is when the policy allows it and nothing live is cached.
+     *
+     * @param sender The sender whose session started.
+     * @return Whether {@link #prefetch(Object)} would resolve anything.
+     */
+    public boolean needsPrefetch(final @NotNull S sender) {
+        if (!policy.isPrefetch()) return false;
+
+        synchronized (cache) {
+            final Entry<ST> entry = cache.get(new Key(sender, null));
+            return entry == null || entry.isExpired(System.nanoTime());
+        }
+    }
+
+    /**
+     * Resolves and caches the results for the sender ahead of their first tab completion.
+     *
+     * @param sender The sender whose session started.
+     */
+    public void prefetch(final @NotNull S sender) {
+        if (!needsPrefetch(sender)) return;
+        resolve(new Key(sender, null), SuggestionContext.of("", sender, Collections.emptyList(), Collections.emptyMap()));
+    }
+
+    /**
+     * Removes all the cached results.
+     */
+    public void invalidate() {
+        synchronized (cache) {
+            cache.clear();
+            version++;
+        }
+    }
+
+    /**
+     * Removes the results cached for the given sender, only does something for the {@link SuggestionCachePolicy.Scope#SENDER} scope.
+     *
+     * @param sender The sender to remove.
+     */
+    public void invalidate(final @NotNull S sender) {
+        if (policy.getScope() != SuggestionCachePolicy.Scope.SENDER) return;
+
+        synchronized (cache) {
+            cache.keySet().removeIf(key -> sender.equals(key.sender));
+            version++;
+        }
+    }
+
+    /**
+     * Gets the current version of the cache, which changes whenever any of it is invalidated.
+     *
+     * @return The cache version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public @NotNull SuggestionCachePolicy getPolicy() {
+        return policy;
+    }
+
+    private @NotNull List<ST> resolve(final @NotNull Key key, final @NotNull SuggestionContext<S> context) {
+        final InFlight<ST> flight;
+        // What waiters fall back to if the resolution takes too long, the expired entry if there's one
+        final List<ST> stale;
+        synchronized (cache) {
+            final InFlight<ST> existing = inFlight.get(key);
+            if (existing != null) {
+                flight = existing;
+                final Entry<ST> entry = cache.get(key);
+                stale = entry == null ? Collections.emptyList() : entry.suggestions;
+            } else {
+                flight = new InFlight<>(Thread.currentThread());
+                inFlight.put(key, flight);
+                stale = null;
+            }
+        }
+
+        if (flight.leader != Thread.currentThread()) return flight.await(stale);
+
+        // A resolver asking for its own key would wait on itself, so it just resolves again
+        if (!flight.claim()) return holder.getSuggestions(context);
+
+        final List<ST> suggestions;
+        try {
+            suggestions = holder.getSuggestions(context);
+        } catch (final RuntimeException | Error e) {
+            synchronized (cache) {
+                inFlight.remove(key);
+            }
+            flight.completeExceptionally(e);
+            throw e;
+        }
+
+        final long now = System.nanoTime();
+        synchronized (cache) {
+            if (!cache.containsKey(key) && cache.size() >= policy.getMaxSize()) evict(now);
+            cache.put(key, new Entry<>(suggestions, now + ttl));
+            inFlight.remove(key);
+        }
+
+        flight.complete(suggestions);
+        return suggestions;
+    }
+
+    private @NotNull Key createKey(final @NotNull SuggestionContext<S> context) {
+        final Object sender = policy.getScope() == SuggestionCachePolicy.Scope.SENDER ? context.getSender() : null;
+        if (dependencies.length == 0) return new Key(sender, null);
+
+        final Map<String, String> argumentsMap = context.getArgumentsMap();
+        final String[] values = new String[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            values[i] = argumentsMap.get(dependencies[i]);
+        }
+
+        return new Key(sender, values);
+    }
+
+    private void evict(final long now) {
+        // Expired entries go first
+        final Iterator<Entry<ST>> expired = cache.values().iterator();
+        while (expired.hasNext()) {
+            if (expired.next().isExpired(now)) expired.remove();
+        }
+
+        if (cache.size() < policy.getMaxSize()) return;
+
+        final Iterator<Map.Entry<Key, Entry<ST>>> iterator = cache.entrySet().iterator();
+        if (policy.getEviction() == SuggestionCachePolicy.Eviction.LRU) {
+            iterator.next();
+            iterator.remove();
+            return;
+        }
+
+        // LFU, ties are broken by recency since the iteration is access ordered
+        Key leastUsed = null;
+        long leastHits = Long.MAX_VALUE;
+        while (iterator.hasNext()) {
+            final Map.Entry<Key, Entry<ST>> entry = iterator.next();
+            if (entry.getValue().hits >= leastHits) continue;
+            leastHits = entry.getValue().hits;
+            leastUsed = entry.getKey();
+        }
+
+        cache.remove(leastUsed);
+    }
+
+    private static final class Key {
+
+        private final Object sender;
+        private final String[] values;
+        private final int hash;
+
+        private Key(final @Nullable Object sender, final @Nullable String[] values) {
+            this.sender = sender;
+            this.values = values;
+            this.hash = 31 * Objects.hashCode(sender) + Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key key = (Key) o;
+            return Objects.equals(sender, key.sender) && Arrays.equals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A resolution shared by every request that missed the same key while it was running.
+     */
+    private static final class InFlight<ST> extends CompletableFuture<List<ST>> {
+
+        private final Thread leader;
+        private boolean claimed = false;
+
+        private InFlight(final @NotNull Thread leader) {
+            this.leader = leader;
+        }
+
+        // Only called by the leader, the first call resolves and any reentrant one doesn't
+        private boolean claim() {
+            if (claimed) return false;
+            claimed = true;
+            return true;
+        }
+
+        // Waiting is bounded, the caller may be a server thread, and the leader may itself be waiting on another key
+        private @NotNull List<ST> await(final @NotNull List<ST> stale) {
+            try {
+                return get(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                return stale;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return stale;
+            } catch (final ExecutionException e) {
+                // Waiters see the same failure the leader did
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new CompletionException(cause);
+            }
+        }
+    }
+
+    private static final class Entry<ST> {
+
+        private final List<ST> suggestions;
+        private final long expiresAt;
+        private long hits = 0;
+
+        private Entry(final @NotNull List<ST> suggestions, final long expiresAt) {
+            this.suggestions = suggestions;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(final long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
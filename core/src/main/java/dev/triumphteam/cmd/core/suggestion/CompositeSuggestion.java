@@ -0,0 +1,311 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import dev.triumphteam.cmd.core.extension.SuggestionMapper;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggestion that queries several other suggestions in parallel and merges their results.
+ * Values suggested by more sources rank first, then values from sources with higher priority.
+ */
+public final class CompositeSuggestion<S, ST> implements InternalSuggestion.Simple<S, ST>, InternalSuggestion.Async<S, ST> {
+
+    // Completes the sources that miss their deadline, shared by every composite suggestion
+    private static final ScheduledExecutorService DEADLINES = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "triumph-cmds-suggestion-deadlines");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Comparator<Ranked<?>> ORDER = Comparator
+            .<Ranked<?>>comparingInt(it -> -it.sources)
+            .thenComparingInt(it -> it.source)
+            .thenComparingInt(it -> it.position);
+
+    private final List<InternalSuggestion<S, ST>> sources;
+    private final long[] deadlines;
+    private final Executor executor;
+    private final SuggestionMapper<ST> mapper;
+    private final SuggestionMethod method;
+
+    // The last values each source returned to a sender, used when it misses its deadline
+    private final List<Map<S, List<ST>>> lastValues;
+
+    public CompositeSuggestion(
+            final @NotNull List<InternalSuggestion<S, ST>> sources,
+            final @NotNull SuggestionSources spec,
+            final @NotNull SuggestionMapper<ST> mapper,
+            final @NotNull SuggestionMethod method
+    ) {
+        this.sources = sources;
+        this.executor = spec.getExecutor();
+        this.mapper = mapper;
+        this.method = method;
+
+        final List<SuggestionSources.Source> specSources = spec.getSources();
+        this.deadlines = new long[specSources.size()];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = specSources.get(i).getDeadline().toNanos();
+        }
+
+        this.lastValues = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            lastValues.add(new WeakHashMap<>());
+        }
+    }
+
+    private CompositeSuggestion(final @NotNull CompositeSuggestion<S, ST> other, final @NotNull SuggestionMethod method) {
+        // Every copy belongs to a different argument, so do its sources
+        this.sources = new ArrayList<>(other.sources.size());
+        for (final InternalSuggestion<S, ST> source : other.sources) {
+            this.sources.add(source.forArgument());
+        }
+        this.deadlines = other.deadlines;
+        this.executor = other.executor;
+        this.mapper = other.mapper;
+        this.method = method;
+        this.lastValues = other.lastValues;
+    }
+
+    /**
+     * Never waits, blocking callers often run on the main thread.
+     * Synchronous sources are queried directly, asynchronous ones only count if they're already done,
+     * otherwise their last values are used and they're left to finish for the next request.
+     */
+    @Override
+    public @NotNull List<ST> getSuggestions(
+            final @NotNull S sender,
+            final @NotNull String current,
+            final @NotNull List<String> arguments,
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
+    ) {
+        final List<List<ST>> values = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            final InternalSuggestion<S, ST> source = sources.get(i);
+
+            if (source instanceof InternalSuggestion.Simple) {
+                values.add(((InternalSuggestion.Simple<S, ST>) source).getSuggestions(sender, current, arguments, argumentsMap, limit));
+                continue;
+            }
+
+            if (!(source instanceof InternalSuggestion.Async)) {
+                values.add(Collections.emptyList());
+                continue;
+            }
+
+            final int index = i;
+            final CompletableFuture<List<ST>> query = ((InternalSuggestion.Async<S, ST>) source)
+                    .getSuggestionsAsync(sender, current, new ArrayList<>(arguments), new HashMap<>(argumentsMap), limit)
+                    .toCompletableFuture();
+
+            if (query.isDone() && !query.isCompletedExceptionally()) {
+                final List<ST> result = query.join();
+                remember(index, sender, result);
+                values.add(result);
+                continue;
+            }
+
+            query.whenComplete((result, error) -> {
+                if (error == null && result != null) remember(index, sender, result);
+            });
+            values.add(fallback(index, sender, current));
+        }
+
+        return merge(values, limit);
+    }
+
+    @Override
+    public @NotNull CompletionStage<List<ST>> getSuggestionsAsync(
+            final @NotNull S sender,
+            final @NotNull String current,
+            final @NotNull List<String> arguments,
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
+    ) {
+        // Sources can outlive the call, so they get their own copy of arguments that may be reused by the caller
+        final List<String> argumentsCopy = new ArrayList<>(arguments);
+        final Map<String, String> argumentsMapCopy = new HashMap<>(argumentsMap);
+
+        final List<CompletableFuture<List<ST>>> queries = new ArrayList<>(sources.size());
+        final List<CompletableFuture<List<ST>>> results = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            final CompletableFuture<List<ST>> query = query(sources.get(i), sender, current, argumentsCopy, argumentsMapCopy, limit);
+            queries.add(query);
+            results.add(withDeadline(i, sender, current, query));
+        }
+
+        final CompletableFuture<List<ST>> merged = CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            final List<List<ST>> values = new ArrayList<>(results.size());
+            for (final CompletableFuture<List<ST>> result : results) {
+                values.add(result.join());
+            }
+            return merge(values, limit);
+        });
+
+        // A stale request stops the sources too, queued synchronous sources are then skipped entirely
+        return PendingSuggestions.propagateCancellation(merged, queries.toArray(new CompletableFuture<?>[0]));
+    }
+
+    @Override
+    public @NotNull InternalSuggestion<S, ST> copy(final @NotNull SuggestionMethod method, final @NotNull String extra) {
+        return new CompositeSuggestion<>(this, method);
+    }
+
+    @Override
+    public @NotNull InternalSuggestion<S, ST> forArgument() {
+        return new CompositeSuggestion<>(this, method);
+    }
+
+    private @NotNull CompletableFuture<List<ST>> query(
+            final @NotNull InternalSuggestion<S, ST> source,
+            final @NotNull S sender,
+            final @NotNull String current,
+            final @NotNull List<String> arguments,
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
+    ) {
+        if (source instanceof InternalSuggestion.Async) {
+            return ((InternalSuggestion.Async<S, ST>) source).getSuggestionsAsync(sender, current, arguments, argumentsMap, limit)
+                    .toCompletableFuture();
+        }
+
+        if (source instanceof InternalSuggestion.Simple) {
+            final InternalSuggestion.Simple<S, ST> simple = (InternalSuggestion.Simple<S, ST>) source;
+            return CompletableFuture.supplyAsync(() -> simple.getSuggestions(sender, current, arguments, argumentsMap, limit), executor);
+        }
+
+        return CompletableFuture.completedFuture(Collections.emptyList());
+    }
+
+    private @NotNull CompletableFuture<List<ST>> withDeadline(
+            final int source,
+            final @NotNull S sender,
+            final @NotNull String current,
+            final @NotNull CompletionStage<List<ST>> stage
+    ) {
+        final CompletableFuture<List<ST>> result = new CompletableFuture<>();
+        final ScheduledFuture<?> deadline = DEADLINES.schedule(
+                () -> result.complete(fallback(source, sender, current)),
+                deadlines[source],
+                TimeUnit.NANOSECONDS
+        );
+
+        stage.whenComplete((values, error) -> {
+            deadline.cancel(false);
+            if (error != null || values == null) {
+                result.complete(fallback(source, sender, current));
+                return;
+            }
+
+            // Late values are still kept, so the next request has something to fall back on
+            remember(source, sender, values);
+            result.complete(values);
+        });
+
+        return result;
+    }
+
+    private void remember(final int source, final @NotNull S sender, final @NotNull List<ST> values) {
+        final Map<S, List<ST>> last = lastValues.get(source);
+        synchronized (last) {
+            last.put(sender, values);
+        }
+    }
+
+    private @NotNull List<ST> fallback(final int source, final @NotNull S sender, final @NotNull String current) {
+        final Map<S, List<ST>> last = lastValues.get(source);
+        final List<ST> values;
+        synchronized (last) {
+            values = last.get(sender);
+        }
+
+        if (values == null) return Collections.emptyList();
+        return mapper.filter(current, values, method);
+    }
+
+    private @NotNull List<ST> merge(final @NotNull List<List<ST>> values, final int limit) {
+        // Values are deduplicated by their string form, since rich values might not implement equals
+        final Map<String, Ranked<ST>> merged = new HashMap<>();
+        for (int source = 0; source < values.size(); source++) {
+            final List<ST> sourceValues = values.get(source);
+            final List<String> keys = mapper.mapBackwards(sourceValues);
+
+            for (int position = 0; position < sourceValues.size(); position++) {
+                final Ranked<ST> existing = merged.get(keys.get(position));
+                if (existing != null) {
+                    // Only count each source once, even if it suggested the value twice
+                    if (existing.lastSource != source) existing.sources++;
+                    existing.lastSource = source;
+                    continue;
+                }
+
+                merged.put(keys.get(position), new Ranked<>(sourceValues.get(position), source, position));
+            }
+        }
+
+        final List<Ranked<ST>> ranked = new ArrayList<>(merged.values());
+        ranked.sort(ORDER);
+
+        final int size = Math.min(ranked.size(), Math.max(limit, 0));
+        final List<ST> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(ranked.get(i).value);
+        }
+        return result;
+    }
+
+    private static final class Ranked<ST> {
+
+        private final ST value;
+        private final int source;
+        private final int position;
+
+        private int sources = 1;
+        private int lastSource;
+
+        private Ranked(final @NotNull ST value, final int source, final int position) {
+            this.value = value;
+            this.source = source;
+            this.position = position;
+            this.lastSource = source;
+        }
+    }
+}
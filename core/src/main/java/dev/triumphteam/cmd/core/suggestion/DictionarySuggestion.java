@@ -0,0 +1,70 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import dev.triumphteam.cmd.core.extension.SuggestionMapper;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Suggestion backed by a {@link SuggestionDictionary}, the matching is done by the dictionary's indexes.
+ */
+public final class DictionarySuggestion<S, ST> implements InternalSuggestion.Simple<S, ST> {
+
+    private final SuggestionDictionary dictionary;
+    private final SuggestionMapper<ST> mapper;
+    private final SuggestionMethod method;
+
+    public DictionarySuggestion(
+            final @NotNull SuggestionDictionary dictionary,
+            final @NotNull SuggestionMapper<ST> mapper,
+            final @NotNull SuggestionMethod method
+    ) {
+        this.dictionary = dictionary;
+        this.mapper = mapper;
+        this.method = method;
+    }
+
+    @Override
+    public @NotNull List<ST> getSuggestions(
+            final @NotNull S sender,
+            final @NotNull String current,
+            final @NotNull List<String> arguments,
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
+    ) {
+        return mapper.map(dictionary.search(current, method, limit));
+    }
+
+    @Override
+    public @NotNull InternalSuggestion<S, ST> copy(final @NotNull SuggestionMethod method, final @NotNull String extra) {
+        return new DictionarySuggestion<>(dictionary, mapper, method);
+    }
+
+    public @NotNull SuggestionDictionary getDictionary() {
+        return dictionary;
+    }
+}
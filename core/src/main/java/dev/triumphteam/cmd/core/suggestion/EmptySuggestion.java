@@ -37,7 +37,8 @@ public final class EmptySuggestion<S, ST> implements InternalSuggestion.Simple<S
             final @NotNull S sender,
             final @NotNull String current,
             final @NotNull List<String> arguments,
-            final @NotNull Map<String, String> argumentsMap
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
     ) {
         return emptyList();
     }
@@ -27,11 +27,17 @@ import dev.triumphteam.cmd.core.extension.SuggestionMapper;
 import dev.triumphteam.cmd.core.util.EnumUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
+/**
+ * Suggests the constants of an enum.
+ * The names are mapped once and kept sorted, so prefix matches are a range of the precomputed list.
+ */
 public final class EnumSuggestion<S, ST> implements InternalSuggestion.Simple<S, ST> {
 
     private final Class<? extends Enum<?>> enumType;
@@ -39,6 +45,10 @@ public final class EnumSuggestion<S, ST> implements InternalSuggestion.Simple<S,
     private final SuggestionMethod method;
     private final boolean suggestLowercase;
 
+    // The mapped names, in the same order as the index
+    private final List<ST> mapped;
+    private final StaticSuggestionIndex index;
+
     public EnumSuggestion(
             final @NotNull Class<? extends Enum<?>> enumType,
             final @NotNull SuggestionMapper<ST> mapper,
@@ -51,6 +61,18 @@ public final class EnumSuggestion<S, ST> implements InternalSuggestion.Simple<S,
         this.suggestLowercase = suggestLowercase;
 
         EnumUtils.populateCache(enumType);
+
+        final List<String> names = new ArrayList<>();
+        for (final Enum<?> constant : enumType.getEnumConstants()) {
+            final String name = constant.name();
+            names.add(suggestLowercase ? name.toLowerCase() : name);
+        }
+
+        // Sorted the same way as the index, so each sorted position matches the list position
+        names.sort(Comparator.comparing(String::toLowerCase));
+
+        this.index = new StaticSuggestionIndex(names);
+        this.mapped = Collections.unmodifiableList(new ArrayList<>(mapper.map(names)));
     }
 
     @Override
@@ -58,21 +80,20 @@ public final class EnumSuggestion<S, ST> implements InternalSuggestion.Simple<S,
             final @NotNull S sender,
             final @NotNull String current,
             final @NotNull List<String> arguments,
-            final @NotNull Map<String, String> argumentsMap
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
     ) {
-        final List<String> suggestions = EnumUtils.getEnumConstants(enumType)
-                .values()
-                .stream()
-                .map(it -> {
-                    final Enum<?> constant = it.get();
-                    if (constant == null) return null;
-                    final String name = constant.name();
-                    return suggestLowercase ? name.toLowerCase() : name;
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-
-        return mapper.filter(current, mapper.map(suggestions), method);
+        // The mapper may drop values, in which case positions no longer line up
+        if (method != SuggestionMethod.STARTS_WITH || mapped.size() != index.size()) {
+            return mapper.filter(current, mapped, method, limit);
+        }
+
+        final String prefix = current.toLowerCase();
+        final int from = index.firstMatch(prefix);
+        final int to = index.lastMatch(prefix, from);
+        if (from >= to || limit <= 0) return Collections.emptyList();
+
+        return mapped.subList(from, to - from <= limit ? to : from + limit);
     }
 
     @Override
@@ -0,0 +1,250 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Fuzzy matching used by {@link SuggestionMethod#FUZZY}.
+ * A value matches when some prefix of it is within a small edit distance of the input, ignoring case,
+ * so values still match while they're being typed.
+ * Matches are ranked by edit distance, then by how much of the input they start with.
+ */
+public final class FuzzyMatcher {
+
+    private FuzzyMatcher() {throw new AssertionError("Util must not be initialized");}
+
+    /**
+     * The maximum edit distance allowed for an input, short inputs need to match exactly.
+     *
+     * @param input The typed input.
+     * @return The maximum edit distance.
+     */
+    public static int maxDistance(final @NotNull String input) {
+        final int length = input.length();
+        if (length <= 2) return 0;
+        if (length <= 5) return 1;
+        return 2;
+    }
+
+    /**
+     * Fuzzy filters a list of values, by going through all of them.
+     * Indexed sources, like static suggestions and dictionaries, have faster ways of doing this.
+     *
+     * @param input  The typed input.
+     * @param values The values to filter.
+     * @param key    Gets the text to match from a value.
+     * @param limit  The maximum amount of values to return.
+     * @param <T>    The type of the values.
+     * @return The best matches, ranked.
+     */
+    public static <T> @NotNull List<T> filter(
+            final @NotNull String input,
+            final @NotNull List<T> values,
+            final @NotNull Function<? super T, String> key,
+            final int limit
+    ) {
+        if (limit <= 0) return Collections.emptyList();
+
+        final String lowerInput = input.toLowerCase();
+        final Rows rows = new Rows(lowerInput);
+        final Ranking<T> ranking = new Ranking<>(maxDistance(lowerInput), limit);
+
+        for (int i = 0; i < values.size(); i++) {
+            final T value = values.get(i);
+            final String text = key.apply(value).toLowerCase();
+            final int distance = rows.distance(text, ranking.threshold());
+            if (distance < 0) continue;
+            ranking.add(value, distance, commonPrefix(lowerInput, text), i);
+        }
+
+        return ranking.toList();
+    }
+
+    static int commonPrefix(final @NotNull String first, final @NotNull String second) {
+        final int max = Math.min(first.length(), second.length());
+        int length = 0;
+        while (length < max && first.charAt(length) == second.charAt(length)) length++;
+        return length;
+    }
+
+    /**
+     * Levenshtein rows, one per character of the value being matched.
+     * Rows only depend on the characters before them, so values sharing a prefix can share rows.
+     */
+    static final class Rows {
+
+        private final String input;
+        private int[][] rows;
+        // Smallest distance between the input and any prefix up to each depth
+        private int[] best;
+
+        Rows(final @NotNull String input) {
+            this.input = input;
+            this.rows = new int[16][];
+            this.best = new int[16];
+
+            final int[] first = new int[input.length() + 1];
+            for (int i = 0; i < first.length; i++) first[i] = i;
+            rows[0] = first;
+            best[0] = input.length();
+        }
+
+        /**
+         * Computes the row for the character at the given depth.
+         *
+         * @param depth     The depth of the character, starting at 1.
+         * @param character The character.
+         * @return The lowest value in the row, no longer value can get a smaller distance than it.
+         */
+        int compute(final int depth, final char character) {
+            if (depth >= rows.length) {
+                final int size = Math.max(rows.length * 2, depth + 1);
+                final int[][] newRows = new int[size][];
+                System.arraycopy(rows, 0, newRows, 0, rows.length);
+                rows = newRows;
+
+                final int[] newBest = new int[size];
+                System.arraycopy(best, 0, newBest, 0, best.length);
+                best = newBest;
+            }
+
+            final int[] previous = rows[depth - 1];
+            int[] current = rows[depth];
+            if (current == null) {
+                current = new int[input.length() + 1];
+                rows[depth] = current;
+            }
+
+            current[0] = depth;
+            int min = depth;
+            for (int i = 1; i < current.length; i++) {
+                final int cost = input.charAt(i - 1) == character ? 0 : 1;
+                final int value = Math.min(Math.min(previous[i] + 1, current[i - 1] + 1), previous[i - 1] + cost);
+                current[i] = value;
+                if (value < min) min = value;
+            }
+
+            best[depth] = Math.min(best[depth - 1], current[input.length()]);
+            return min;
+        }
+
+        /**
+         * @return The smallest distance between the input and any prefix of the value up to the depth.
+         */
+        int best(final int depth) {
+            return best[depth];
+        }
+
+        /**
+         * Calculates the distance of a single value.
+         *
+         * @return The distance, or -1 if it's above the max.
+         */
+        int distance(final @NotNull String value, final int max) {
+            for (int depth = 1; depth <= value.length(); depth++) {
+                final int min = compute(depth, value.charAt(depth - 1));
+                // Nothing after this can lower the distance
+                if (min >= best(depth)) return best(depth) > max ? -1 : best(depth);
+                if (min > max && best(depth) > max) return -1;
+            }
+
+            final int distance = best(value.length());
+            return distance > max ? -1 : distance;
+        }
+    }
+
+    /**
+     * Keeps the best matches found so far, up to the limit.
+     */
+    static final class Ranking<T> {
+
+        private static final Comparator<Match<?>> ORDER = Comparator.<Match<?>>comparingInt(match -> match.distance)
+                .thenComparing(match -> -match.prefix)
+                .thenComparingInt(match -> match.order);
+
+        private final int maxDistance;
+        private final int limit;
+        // Worst match on top, so it can be replaced
+        private final PriorityQueue<Match<T>> matches = new PriorityQueue<>(ORDER.reversed());
+
+        Ranking(final int maxDistance, final int limit) {
+            this.maxDistance = maxDistance;
+            this.limit = limit;
+        }
+
+        /**
+         * @return The highest distance that can still make it into the results.
+         */
+        int threshold() {
+            if (matches.size() < limit) return maxDistance;
+            return matches.peek().distance;
+        }
+
+        void add(final T value, final int distance, final int prefix, final int order) {
+            final Match<T> match = new Match<>(value, distance, prefix, order);
+            if (matches.size() < limit) {
+                matches.add(match);
+                return;
+            }
+
+            if (ORDER.compare(match, matches.peek()) >= 0) return;
+            matches.poll();
+            matches.add(match);
+        }
+
+        @NotNull List<T> toList() {
+            final List<Match<T>> sorted = new ArrayList<>(matches);
+            sorted.sort(ORDER);
+
+            final List<T> result = new ArrayList<>(sorted.size());
+            for (final Match<T> match : sorted) {
+                result.add(match.value);
+            }
+            return result;
+        }
+    }
+
+    private static final class Match<T> {
+
+        private final T value;
+        private final int distance;
+        private final int prefix;
+        private final int order;
+
+        private Match(final T value, final int distance, final int prefix, final int order) {
+            this.value = value;
+            this.distance = distance;
+            this.prefix = prefix;
+            this.order = order;
+        }
+    }
+}
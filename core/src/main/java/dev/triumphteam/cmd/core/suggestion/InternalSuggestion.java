@@ -27,6 +27,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 public interface InternalSuggestion<S, ST> {
 
@@ -34,13 +35,63 @@ public interface InternalSuggestion<S, ST> {
         return this;
     }
 
+    /**
+     * Gets the instance a single argument should use, suggestions keeping state per argument return a new one.
+     *
+     * @return The suggestion for a new argument.
+     */
+    default @NotNull InternalSuggestion<S, ST> forArgument() {
+        return this;
+    }
+
     interface Simple<S, ST> extends InternalSuggestion<S, ST> {
 
-        @NotNull List<ST> getSuggestions(
+        default @NotNull List<ST> getSuggestions(
                 final @NotNull S sender,
                 final @NotNull String current,
                 final @NotNull List<String> arguments,
                 final @NotNull Map<String, String> argumentsMap
+        ) {
+            return getSuggestions(sender, current, arguments, argumentsMap, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Gets the suggestions for the current input, stopping once {@code limit} of them are found.
+         *
+         * @param sender       The sender requesting the suggestions.
+         * @param current      The current input.
+         * @param arguments    The arguments typed so far.
+         * @param argumentsMap The arguments typed so far, by name.
+         * @param limit        The maximum amount of suggestions to return.
+         * @return The first matching suggestions.
+         */
+        @NotNull List<ST> getSuggestions(
+                final @NotNull S sender,
+                final @NotNull String current,
+                final @NotNull List<String> arguments,
+                final @NotNull Map<String, String> argumentsMap,
+                final int limit
+        );
+    }
+
+    interface Async<S, ST> extends InternalSuggestion<S, ST> {
+
+        /**
+         * Gets the suggestions for the current input, the returned stage completes once they're resolved.
+         *
+         * @param sender       The sender requesting the suggestions.
+         * @param current      The current input.
+         * @param arguments    The arguments typed so far.
+         * @param argumentsMap The arguments typed so far, by name.
+         * @param limit        The maximum amount of suggestions to return.
+         * @return A stage completing with the first matching suggestions.
+         */
+        @NotNull CompletionStage<List<ST>> getSuggestionsAsync(
+                final @NotNull S sender,
+                final @NotNull String current,
+                final @NotNull List<String> arguments,
+                final @NotNull Map<String, String> argumentsMap,
+                final int limit
         );
     }
 }
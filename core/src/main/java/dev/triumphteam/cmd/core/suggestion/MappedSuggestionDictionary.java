@@ -0,0 +1,600 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A read only set of suggestions stored in a sorted file that is memory mapped instead of loaded,
+ * meant for values that would take too much heap as a list, like every name a server has ever seen.
+ * The file holds an offset index followed by a string table, sorted by the lower cased values,
+ * so prefix lookups are binary searches that only decode the values returned.
+ * The file is checked for changes periodically off the lookup thread, and a new version is swapped in as a whole,
+ * lookups keep using the old values until then and never see a mix of both.
+ * Files are created with {@link #write(Path, Collection)}.
+ */
+public final class MappedSuggestionDictionary {
+
+    private static final int FILE_MAGIC = 0x54534431; // "TSD1"
+    // Magic and count, followed by the offsets
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_KEY_LENGTH = 0xFFFF;
+    private static final byte[] NO_BYTES = new byte[0];
+
+    // Checks and maps new versions of the files, shared by every dictionary
+    private static final ExecutorService RELOADS = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "triumph-cmds-dictionary-reloads");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path path;
+    private final long checkInterval;
+
+    private volatile Table table;
+    private volatile long nextCheck;
+    private final AtomicBoolean checking = new AtomicBoolean(false);
+
+    private MappedSuggestionDictionary(final @NotNull Path path, final long checkInterval, final @NotNull Table table) {
+        this.path = path;
+        this.checkInterval = checkInterval;
+        this.table = table;
+        this.nextCheck = System.nanoTime() + checkInterval;
+    }
+
+    /**
+     * Maps a dictionary file, checking it for changes every 5 seconds.
+     *
+     * @param path The file created by {@link #write(Path, Collection)}.
+     * @return The mapped dictionary.
+     * @throws IOException If the file could not be read or is not a suggestion dictionary file.
+     */
+    @Contract("_ -> new")
+    public static @NotNull MappedSuggestionDictionary open(final @NotNull Path path) throws IOException {
+        return open(path, Duration.ofSeconds(5));
+    }
+
+    /**
+     * Maps a dictionary file.
+     *
+     * @param path          The file created by {@link #write(Path, Collection)}.
+     * @param checkInterval How often the file is checked for changes, a lookup past it schedules the check.
+     * @return The mapped dictionary.
+     * @throws IOException If the file could not be read or is not a suggestion dictionary file.
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull MappedSuggestionDictionary open(
+            final @NotNull Path path,
+            final @NotNull Duration checkInterval
+    ) throws IOException {
+        if (checkInterval.isNegative() || checkInterval.isZero()) {
+            throw new IllegalArgumentException("Check interval must be positive.");
+        }
+
+        return new MappedSuggestionDictionary(path, checkInterval.toNanos(), Table.map(path));
+    }
+
+    /**
+     * Writes the values to a dictionary file, duplicates are only written once.
+     * The file is written next to the target first and then moved over it,
+     * so dictionaries mapping it pick up the new values on their next check.
+     *
+     * @param path   The file to write to.
+     * @param values The values to write.
+     * @throws IOException If the file could not be written.
+     */
+    public static void write(final @NotNull Path path, final @NotNull Collection<String> values) throws IOException {
+        final List<Entry> entries = new ArrayList<>(values.size());
+        for (final String value : values) {
+            entries.add(new Entry(value));
+        }
+
+        entries.sort(null);
+
+        // Sorting puts duplicates next to each other
+        final List<Entry> unique = new ArrayList<>(entries.size());
+        long dataSize = 0;
+        for (final Entry entry : entries) {
+            if (!unique.isEmpty() && unique.get(unique.size() - 1).value.equals(entry.value)) continue;
+            unique.add(entry);
+            dataSize += entry.size();
+        }
+
+        if (HEADER_SIZE + 4L * (unique.size() + 1) + dataSize > Integer.MAX_VALUE) {
+            throw new IOException("Too many values for a suggestion dictionary file");
+        }
+
+        final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(FILE_MAGIC);
+            output.writeInt(unique.size());
+
+            int offset = 0;
+            output.writeInt(offset);
+            for (final Entry entry : unique) {
+                offset += entry.size();
+                output.writeInt(offset);
+            }
+
+            for (final Entry entry : unique) {
+                output.writeShort(entry.key.length);
+                output.write(entry.key);
+                output.write(entry.original);
+            }
+        }
+
+        try {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException ignored) {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Maps the file again if it changed since it was last mapped, on the calling thread.
+     * If the new file can't be read, the values currently mapped keep being used.
+     *
+     * @return Whether a new version of the file was mapped.
+     * @throws IOException If the file could not be read or is not a suggestion dictionary file.
+     */
+    public synchronized boolean reload() throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (table.isVersion(attributes)) return false;
+
+        table = Table.map(path);
+        return true;
+    }
+
+    public @NotNull Path getPath() {
+        return path;
+    }
+
+    public int size() {
+        return current().count;
+    }
+
+    public boolean contains(final @NotNull String value) {
+        final Table table = current();
+        final byte[] key = value.toLowerCase().getBytes(StandardCharsets.UTF_8);
+
+        for (int i = table.firstMatch(key); i < table.count && table.compareKey(i, key) == 0; i++) {
+            if (table.value(i).equals(value)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Finds the values matching the input using the given method.
+     *
+     * @param input  The typed input.
+     * @param method The {@link SuggestionMethod} to match with.
+     * @param limit  The maximum amount of values to return.
+     * @return The matching values, sorted.
+     */
+    public @NotNull List<String> search(final @NotNull String input, final @NotNull SuggestionMethod method, final int limit) {
+        switch (method) {
+            case CONTAINS:
+                return containing(input, limit);
+
+            case STARTS_WITH:
+                return startingWith(input, limit);
+
+            case FUZZY:
+                return fuzzy(input, limit);
+
+            default:
+                return startingWith("", limit);
+        }
+    }
+
+    /**
+     * Finds the values starting with the prefix, ignoring case.
+     *
+     * @param prefix The prefix to look for.
+     * @param limit  The maximum amount of values to return.
+     * @return The matching values, sorted.
+     */
+    public @NotNull List<String> startingWith(final @NotNull String prefix, final int limit) {
+        if (limit <= 0) return Collections.emptyList();
+
+        final Table table = current();
+        final byte[] key = prefix.toLowerCase().getBytes(StandardCharsets.UTF_8);
+
+        final List<String> result = new ArrayList<>(Math.min(limit, 16));
+        for (int i = table.firstMatch(key); i < table.count && result.size() < limit && table.keyStartsWith(i, key); i++) {
+            result.add(table.value(i));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the values containing the input, ignoring case.
+     * There is no index for this, the mapped values are scanned in order until the limit is reached.
+     *
+     * @param input The text to look for.
+     * @param limit The maximum amount of values to return.
+     * @return The matching values, sorted.
+     */
+    public @NotNull List<String> containing(final @NotNull String input, final int limit) {
+        if (limit <= 0) return Collections.emptyList();
+
+        final Table table = current();
+        final byte[] key = input.toLowerCase().getBytes(StandardCharsets.UTF_8);
+
+        final List<String> result = new ArrayList<>(Math.min(limit, 16));
+        for (int i = 0; i < table.count && result.size() < limit; i++) {
+            if (table.keyContains(i, key)) result.add(table.value(i));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the values within the fuzzy distance of the input, see {@link FuzzyMatcher}.
+     * Sorted values that share a prefix reuse the rows computed for it, and skip it entirely if it can't match.
+     *
+     * @param input The typed input.
+     * @param limit The maximum amount of values to return.
+     * @return The best matches, ranked.
+     */
+    public @NotNull List<String> fuzzy(final @NotNull String input, final int limit) {
+        if (limit <= 0) return Collections.emptyList();
+
+        final Table table = current();
+        final String lowerInput = input.toLowerCase();
+        final FuzzyMatcher.Rows rows = new FuzzyMatcher.Rows(lowerInput);
+        final FuzzyMatcher.Ranking<Integer> ranking = new FuzzyMatcher.Ranking<>(FuzzyMatcher.maxDistance(lowerInput), limit);
+
+        String previous = "";
+        // How many rows of the previous value are computed
+        int computed = 0;
+        // Depth after which the previous value's distance could no longer change, -1 if it never settled
+        int settledAt = -1;
+        // The settled prefix, encoded, so values sharing it are handled without decoding them
+        byte[] settledKey = null;
+        // How much of the settled prefix the input shares, -1 when the input goes past it
+        int settledInputPrefix = -1;
+
+        for (int i = 0; i < table.count; i++) {
+            if (settledKey != null && table.keyStartsWith(i, settledKey)) {
+                // The previous prefix can't match, jump over every value that shares it
+                if (rows.best(settledAt) > ranking.threshold()) {
+                    i = table.lastMatch(settledKey, i) - 1;
+                    continue;
+                }
+
+                // Every value sharing the settled prefix has the same distance, only the input's prefix may need the value
+                final int inputPrefix = settledInputPrefix != -1 ? settledInputPrefix : FuzzyMatcher.commonPrefix(lowerInput, table.key(i));
+                ranking.add(i, rows.best(settledAt), inputPrefix, i);
+                continue;
+            }
+
+            final String value = table.key(i);
+            final int common = FuzzyMatcher.commonPrefix(previous, value);
+
+            // The previous prefix can't match, jump over every value that shares it
+            if (settledAt != -1 && common >= settledAt && rows.best(settledAt) > ranking.threshold()
+                    && !Character.isHighSurrogate(previous.charAt(settledAt - 1))) {
+                i = table.lastMatch(previous.substring(0, settledAt).getBytes(StandardCharsets.UTF_8), i) - 1;
+                continue;
+            }
+
+            if (settledAt == -1 || common < settledAt) {
+                settledAt = -1;
+                int depth = Math.min(common, computed);
+
+                while (depth < value.length()) {
+                    depth++;
+                    final int min = rows.compute(depth, value.charAt(depth - 1));
+                    if (min >= rows.best(depth) || (min > ranking.threshold() && rows.best(depth) > ranking.threshold())) {
+                        settledAt = depth;
+                        break;
+                    }
+                }
+
+                computed = depth;
+                previous = value;
+
+                // A prefix ending in half a surrogate pair has no encoding of its own
+                if (settledAt == -1 || Character.isHighSurrogate(value.charAt(settledAt - 1))) {
+                    settledKey = null;
+                } else {
+                    final String settled = value.substring(0, settledAt);
+                    settledKey = settled.getBytes(StandardCharsets.UTF_8);
+                    final int inputPrefix = FuzzyMatcher.commonPrefix(lowerInput, settled);
+                    settledInputPrefix = inputPrefix < settledAt ? inputPrefix : -1;
+                }
+            }
+
+            // Every value sharing the settled prefix has the same distance
+            final int distance = rows.best(settledAt == -1 ? value.length() : settledAt);
+            if (distance > ranking.threshold()) continue;
+
+            ranking.add(i, distance, FuzzyMatcher.commonPrefix(lowerInput, value), i);
+        }
+
+        final List<Integer> matches = ranking.toList();
+        final List<String> result = new ArrayList<>(matches.size());
+        for (final int match : matches) {
+            result.add(table.value(match));
+        }
+        return result;
+    }
+
+    /**
+     * @return The mapped table, scheduling a check for a new version of the file if it's time to.
+     */
+    private @NotNull Table current() {
+        final long now = System.nanoTime();
+        if (now - nextCheck >= 0 && checking.compareAndSet(false, true)) {
+            nextCheck = now + checkInterval;
+            try {
+                RELOADS.execute(this::check);
+            } catch (final RejectedExecutionException ignored) {
+                checking.set(false);
+            }
+        }
+
+        return table;
+    }
+
+    private void check() {
+        try {
+            reload();
+        } catch (final IOException ignored) {
+            // The file may be in the middle of being replaced, the current values are used until the next check
+        } finally {
+            checking.set(false);
+        }
+    }
+
+    private static int compare(final byte @NotNull [] first, final byte @NotNull [] second) {
+        final int length = Math.min(first.length, second.length);
+        for (int i = 0; i < length; i++) {
+            final int difference = (first[i] & 0xFF) - (second[i] & 0xFF);
+            if (difference != 0) return difference;
+        }
+        return first.length - second.length;
+    }
+
+    /**
+     * A value being written, keyed by its lower cased form.
+     * Values that are already lower cased don't store the original again.
+     */
+    private static final class Entry implements Comparable<Entry> {
+
+        private final String value;
+        private final byte[] key;
+        private final byte[] original;
+
+        private Entry(final @NotNull String value) {
+            final String lowerCased = value.toLowerCase();
+            this.value = value;
+            this.key = lowerCased.getBytes(StandardCharsets.UTF_8);
+            this.original = value.equals(lowerCased) ? NO_BYTES : value.getBytes(StandardCharsets.UTF_8);
+
+            if (key.length > MAX_KEY_LENGTH) {
+                throw new IllegalArgumentException("Suggestion value is too long for a dictionary file: " + value.substring(0, 32) + "...");
+            }
+        }
+
+        private int size() {
+            return 2 + key.length + original.length;
+        }
+
+        @Override
+        public int compareTo(final @NotNull Entry other) {
+            final int byKey = compare(key, other.key);
+            if (byKey != 0) return byKey;
+            return value.compareTo(other.value);
+        }
+    }
+
+    /**
+     * One mapped version of the file, only read with absolute gets so it can be shared between threads.
+     */
+    private static final class Table {
+
+        private final ByteBuffer buffer;
+        private final int count;
+        // Where the string table starts
+        private final int dataStart;
+
+        // The version of the file that was mapped
+        private final Object fileKey;
+        private final long modified;
+        private final long size;
+
+        private Table(final @NotNull ByteBuffer buffer, final int count, final @NotNull BasicFileAttributes attributes) {
+            this.buffer = buffer;
+            this.count = count;
+            this.dataStart = HEADER_SIZE + 4 * (count + 1);
+            this.fileKey = attributes.fileKey();
+            this.modified = attributes.lastModifiedTime().toMillis();
+            this.size = attributes.size();
+        }
+
+        private static @NotNull Table map(final @NotNull Path path) throws IOException {
+            final ByteBuffer buffer;
+            final BasicFileAttributes attributes;
+            try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                final long size = channel.size();
+                if (size > Integer.MAX_VALUE) throw notDictionary(path);
+                // The mapping stays valid after the channel is closed
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+
+            final int size = buffer.capacity();
+            if (size < HEADER_SIZE + 4 || buffer.getInt(0) != FILE_MAGIC) throw notDictionary(path);
+
+            final int count = buffer.getInt(4);
+            if (count < 0 || HEADER_SIZE + 4L * (count + 1) > size) throw notDictionary(path);
+
+            // Validated once here, so lookups never read outside the file
+            final int dataStart = HEADER_SIZE + 4 * (count + 1);
+            int previous = buffer.getInt(HEADER_SIZE);
+            if (previous != 0) throw notDictionary(path);
+
+            for (int i = 1; i <= count; i++) {
+                final int offset = buffer.getInt(HEADER_SIZE + 4 * i);
+                if (offset - previous < 2 || offset > size - dataStart) throw notDictionary(path);
+                if (2 + (buffer.getShort(dataStart + previous) & 0xFFFF) > offset - previous) throw notDictionary(path);
+                previous = offset;
+            }
+
+            if (dataStart + previous != size) throw notDictionary(path);
+
+            return new Table(buffer, count, attributes);
+        }
+
+        private static @NotNull IOException notDictionary(final @NotNull Path path) {
+            return new IOException("\"" + path + "\" is not a suggestion dictionary file");
+        }
+
+        private boolean isVersion(final @NotNull BasicFileAttributes attributes) {
+            return Objects.equals(fileKey, attributes.fileKey())
+                    && modified == attributes.lastModifiedTime().toMillis()
+                    && size == attributes.size();
+        }
+
+        private int start(final int index) {
+            return dataStart + buffer.getInt(HEADER_SIZE + 4 * index);
+        }
+
+        private int end(final int index) {
+            return dataStart + buffer.getInt(HEADER_SIZE + 4 * (index + 1));
+        }
+
+        private int keyLength(final int index) {
+            return buffer.getShort(start(index)) & 0xFFFF;
+        }
+
+        private int compareKey(final int index, final byte @NotNull [] key) {
+            final int start = start(index) + 2;
+            final int length = keyLength(index);
+            final int common = Math.min(length, key.length);
+
+            for (int i = 0; i < common; i++) {
+                final int difference = (buffer.get(start + i) & 0xFF) - (key[i] & 0xFF);
+                if (difference != 0) return difference;
+            }
+            return length - key.length;
+        }
+
+        private boolean keyStartsWith(final int index, final byte @NotNull [] prefix) {
+            if (keyLength(index) < prefix.length) return false;
+
+            final int start = start(index) + 2;
+            for (int i = 0; i < prefix.length; i++) {
+                if (buffer.get(start + i) != prefix[i]) return false;
+            }
+            return true;
+        }
+
+        private boolean keyContains(final int index, final byte @NotNull [] text) {
+            final int start = start(index) + 2;
+            final int last = keyLength(index) - text.length;
+
+            outer:
+            for (int from = 0; from <= last; from++) {
+                for (int i = 0; i < text.length; i++) {
+                    if (buffer.get(start + from + i) != text[i]) continue outer;
+                }
+                return true;
+            }
+            return false;
+        }
+
+        // First value that is not smaller than the key
+        private int firstMatch(final byte @NotNull [] key) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (compareKey(middle, key) < 0) low = middle + 1;
+                else high = middle;
+            }
+            return low;
+        }
+
+        // First value after the start that no longer begins with the prefix
+        private int lastMatch(final byte @NotNull [] prefix, final int from) {
+            int low = from;
+            int high = count;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (keyStartsWith(middle, prefix)) low = middle + 1;
+                else high = middle;
+            }
+            return low;
+        }
+
+        private @NotNull String key(final int index) {
+            final int start = start(index) + 2;
+            return decode(start, start + keyLength(index));
+        }
+
+        private @NotNull String value(final int index) {
+            final int keyEnd = start(index) + 2 + keyLength(index);
+            final int end = end(index);
+            // Values that were already lower cased only store the key
+            if (keyEnd == end) return decode(keyEnd - keyLength(index), keyEnd);
+            return decode(keyEnd, end);
+        }
+
+        private @NotNull String decode(final int from, final int to) {
+            final byte[] bytes = new byte[to - from];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(from + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Keeps track of the suggestion computation each sender is waiting on.
+ * Clients request suggestions on every keystroke, so once a newer request is tracked for a sender,
+ * the older one is stale and gets cancelled, along with whatever is still computing it.
+ *
+ * @param <S> The sender type.
+ */
+public final class PendingSuggestions<S> {
+
+    private final Map<S, CompletableFuture<?>> pending = new WeakHashMap<>();
+
+    /**
+     * Tracks the request as the latest one of the sender, cancelling the previous one if it's still running.
+     *
+     * @param sender The sender requesting the suggestions.
+     * @param stage  The stage computing the suggestions.
+     * @param <T>    The type of the result.
+     * @return The tracked stage, completing exceptionally with a cancellation if a newer request replaces it.
+     */
+    public <T> @NotNull CompletionStage<T> track(final @NotNull S sender, final @NotNull CompletionStage<T> stage) {
+        final CompletableFuture<T> future = stage.toCompletableFuture();
+
+        final CompletableFuture<?> previous;
+        synchronized (pending) {
+            previous = future.isDone() ? pending.remove(sender) : pending.put(sender, future);
+        }
+
+        if (previous != null && previous != future) previous.cancel(true);
+        if (future.isDone()) return future;
+
+        future.whenComplete((result, error) -> {
+            synchronized (pending) {
+                if (pending.get(sender) == future) pending.remove(sender);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Cancels the request the sender is waiting on, if there is one.
+     *
+     * @param sender The sender.
+     */
+    public void cancel(final @NotNull S sender) {
+        final CompletableFuture<?> previous;
+        synchronized (pending) {
+            previous = pending.remove(sender);
+        }
+
+        if (previous != null) previous.cancel(true);
+    }
+
+    /**
+     * Cancels the sources once the stage that depends on them is cancelled, so their work stops with it.
+     * Only stages created for the request should be passed, never ones a user's resolver returned,
+     * unless it opted in through {@link AsyncSuggestionResolver#isCancellable()}.
+     *
+     * @param dependent The stage derived from the sources.
+     * @param sources   The stages computing the values.
+     * @param <T>       The type of the result.
+     * @return The dependent stage.
+     */
+    public static <T> @NotNull CompletableFuture<T> propagateCancellation(
+            final @NotNull CompletableFuture<T> dependent,
+            final @NotNull CompletableFuture<?> @NotNull ... sources
+    ) {
+        dependent.whenComplete((result, error) -> {
+            if (!dependent.isCancelled()) return;
+            for (final CompletableFuture<?> source : sources) {
+                source.cancel(true);
+            }
+        });
+        return dependent;
+    }
+}
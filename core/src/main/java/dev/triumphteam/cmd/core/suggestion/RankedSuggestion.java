@@ -0,0 +1,234 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import dev.triumphteam.cmd.core.extension.SuggestionMapper;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Wraps the suggestion of an argument, ordering its filtered values by how often they were executed.
+ * Arguments without any recorded executions keep the limit pushed down to the wrapped suggestion.
+ */
+public abstract class RankedSuggestion<S, ST> implements InternalSuggestion<S, ST> {
+
+    private final InternalSuggestion<S, ST> suggestion;
+    private final SuggestionRanking ranking;
+    private final SuggestionMapper<ST> mapper;
+    private final String argument;
+
+    // The values last suggested to each sender, only those are recorded when executed
+    private final Map<S, Set<String>> suggested = new WeakHashMap<>();
+
+    private RankedSuggestion(
+            final @NotNull InternalSuggestion<S, ST> suggestion,
+            final @NotNull SuggestionRanking ranking,
+            final @NotNull SuggestionMapper<ST> mapper,
+            final @NotNull String argument
+    ) {
+        this.suggestion = suggestion;
+        this.ranking = ranking;
+        this.mapper = mapper;
+        this.argument = argument;
+    }
+
+    /**
+     * Wraps the suggestion, suggestions that can't be ranked are returned as is.
+     * Static suggestions are left alone too, since platforms treat them as a fixed set of choices.
+     *
+     * @param suggestion The suggestion to rank.
+     * @param ranking    The ranking holding the execution counts.
+     * @param mapper     The mapper used to get the string form of the values.
+     * @param argument   The id of the argument the suggestion belongs to.
+     * @return The ranked suggestion.
+     */
+    public static <S, ST> @NotNull InternalSuggestion<S, ST> of(
+            final @NotNull InternalSuggestion<S, ST> suggestion,
+            final @NotNull SuggestionRanking ranking,
+            final @NotNull SuggestionMapper<ST> mapper,
+            final @NotNull String argument
+    ) {
+        if (suggestion instanceof EmptySuggestion || suggestion instanceof StaticSuggestion) return suggestion;
+
+        if (suggestion instanceof InternalSuggestion.Simple) {
+            return new SimpleRanked<>(suggestion, ranking, mapper, argument);
+        }
+
+        if (suggestion instanceof InternalSuggestion.Async) {
+            return new AsyncRanked<>(suggestion, ranking, mapper, argument);
+        }
+
+        return suggestion;
+    }
+
+    /**
+     * Records that the value was executed, so it ranks higher next time.
+     * Values that were not among the last suggestions of the sender are free-form input and are ignored.
+     *
+     * @param sender The sender that executed the value.
+     * @param value  The executed value.
+     */
+    public void record(final @NotNull S sender, final @NotNull String value) {
+        final Set<String> values;
+        synchronized (suggested) {
+            values = suggested.remove(sender);
+        }
+
+        if (values == null || !values.contains(value)) return;
+        ranking.record(argument, value);
+    }
+
+    public @NotNull InternalSuggestion<S, ST> getSuggestion() {
+        return suggestion;
+    }
+
+    @Override
+    public @NotNull InternalSuggestion<S, ST> copy(final @NotNull SuggestionMethod method, final @NotNull String extra) {
+        return of(suggestion.copy(method, extra), ranking, mapper, argument);
+    }
+
+    protected @NotNull List<ST> getRankedSuggestions(
+            final @NotNull S sender,
+            final @NotNull String current,
+            final @NotNull List<String> arguments,
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
+    ) {
+        if (!ranking.hasStats(argument)) {
+            return remember(sender, ((InternalSuggestion.Simple<S, ST>) suggestion).getSuggestions(sender, current, arguments, argumentsMap, limit));
+        }
+
+        // Every match is needed to find the most popular ones
+        return remember(sender, rank(((InternalSuggestion.Simple<S, ST>) suggestion).getSuggestions(sender, current, arguments, argumentsMap, Integer.MAX_VALUE), limit));
+    }
+
+    protected @NotNull CompletionStage<List<ST>> getRankedSuggestionsAsync(
+            final @NotNull S sender,
+            final @NotNull String current,
+            final @NotNull List<String> arguments,
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
+    ) {
+        final InternalSuggestion.Async<S, ST> async = (InternalSuggestion.Async<S, ST>) suggestion;
+        if (!ranking.hasStats(argument)) {
+            final CompletableFuture<List<ST>> values = async.getSuggestionsAsync(sender, current, arguments, argumentsMap, limit)
+                    .toCompletableFuture();
+            return PendingSuggestions.propagateCancellation(values.thenApply(it -> remember(sender, it)), values);
+        }
+
+        final CompletableFuture<List<ST>> values = async.getSuggestionsAsync(sender, current, arguments, argumentsMap, Integer.MAX_VALUE)
+                .toCompletableFuture();
+        return PendingSuggestions.propagateCancellation(values.thenApply(it -> remember(sender, rank(it, limit))), values);
+    }
+
+    private @NotNull List<ST> remember(final @NotNull S sender, final @NotNull List<ST> values) {
+        final Set<String> keys = new HashSet<>(mapper.mapBackwards(values));
+        synchronized (suggested) {
+            suggested.put(sender, keys);
+        }
+        return values;
+    }
+
+    private @NotNull List<ST> rank(final @NotNull List<ST> values, final int limit) {
+        if (values.isEmpty()) return values;
+        return ranking.rank(argument, values, mapper.mapBackwards(values), limit);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "RankedSuggestion{" +
+                "suggestion=" + suggestion +
+                ", argument='" + argument + '\'' +
+                '}';
+    }
+
+    private static final class SimpleRanked<S, ST> extends RankedSuggestion<S, ST> implements InternalSuggestion.Simple<S, ST>, InternalSuggestion.Async<S, ST> {
+
+        private SimpleRanked(
+                final @NotNull InternalSuggestion<S, ST> suggestion,
+                final @NotNull SuggestionRanking ranking,
+                final @NotNull SuggestionMapper<ST> mapper,
+                final @NotNull String argument
+        ) {
+            super(suggestion, ranking, mapper, argument);
+        }
+
+        @Override
+        public @NotNull List<ST> getSuggestions(
+                final @NotNull S sender,
+                final @NotNull String current,
+                final @NotNull List<String> arguments,
+                final @NotNull Map<String, String> argumentsMap,
+                final int limit
+        ) {
+            return getRankedSuggestions(sender, current, arguments, argumentsMap, limit);
+        }
+
+        @Override
+        public @NotNull CompletionStage<List<ST>> getSuggestionsAsync(
+                final @NotNull S sender,
+                final @NotNull String current,
+                final @NotNull List<String> arguments,
+                final @NotNull Map<String, String> argumentsMap,
+                final int limit
+        ) {
+            // Keeps suggestions that are both simple and asynchronous from blocking
+            if (getSuggestion() instanceof InternalSuggestion.Async) {
+                return getRankedSuggestionsAsync(sender, current, arguments, argumentsMap, limit);
+            }
+
+            return CompletableFuture.completedFuture(getRankedSuggestions(sender, current, arguments, argumentsMap, limit));
+        }
+    }
+
+    private static final class AsyncRanked<S, ST> extends RankedSuggestion<S, ST> implements InternalSuggestion.Async<S, ST> {
+
+        private AsyncRanked(
+                final @NotNull InternalSuggestion<S, ST> suggestion,
+                final @NotNull SuggestionRanking ranking,
+                final @NotNull SuggestionMapper<ST> mapper,
+                final @NotNull String argument
+        ) {
+            super(suggestion, ranking, mapper, argument);
+        }
+
+        @Override
+        public @NotNull CompletionStage<List<ST>> getSuggestionsAsync(
+                final @NotNull S sender,
+                final @NotNull String current,
+                final @NotNull List<String> arguments,
+                final @NotNull Map<String, String> argumentsMap,
+                final int limit
+        ) {
+            return getRankedSuggestionsAsync(sender, current, arguments, argumentsMap, limit);
+        }
+    }
+}
@@ -26,16 +26,26 @@ package dev.triumphteam.cmd.core.suggestion;
 import dev.triumphteam.cmd.core.extension.SuggestionMapper;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
 
 public final class SimpleSuggestion<S, ST> implements InternalSuggestion.Simple<S, ST> {
 
+    // How long the last result of a sender can keep being narrowed before it's resolved again, at most the cache's own ttl
+    // Each argument gets its own instance through forArgument or copy, so the results are kept per sender and argument
+    private static final long NARROWING_TTL = TimeUnit.SECONDS.toNanos(5);
+
     private final SimpleSuggestionHolder<S, ST> holder;
     private final SuggestionMapper<ST> mapper;
     private final SuggestionMethod method;
     private final String extra;
 
+    private final Map<S, LastResult<ST>> lastResults = new WeakHashMap<>();
+
     public SimpleSuggestion(
             final @NotNull SimpleSuggestionHolder<S, ST> holder,
             final @NotNull SuggestionMapper<ST> mapper,
@@ -61,13 +71,109 @@ public final class SimpleSuggestion<S, ST> implements InternalSuggestion.Simple<
             final @NotNull S sender,
             final @NotNull String current,
             final @NotNull List<String> arguments,
-            final @NotNull Map<String, String> argumentsMap
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
     ) {
-        return mapper.filter(current, holder.getSuggestions(SuggestionContext.of(current, sender, arguments, argumentsMap, extra)), method);
+        // Only cached holders are guaranteed not to depend on the input, others may return different values as more is typed
+        // Only plain prefix and substring matches are guaranteed to be a subset of the previous ones
+        if (!(holder instanceof CachedSuggestionHolder) || (method != SuggestionMethod.STARTS_WITH && method != SuggestionMethod.CONTAINS)) {
+            return mapper.filter(current, holder.getSuggestions(SuggestionContext.of(current, sender, arguments, argumentsMap, extra, limit)), method, limit);
+        }
+
+        final CachedSuggestionHolder<S, ST> cached = (CachedSuggestionHolder<S, ST>) holder;
+        final long now = System.nanoTime();
+        // Invalidating the cache must also stop the narrowing of what it returned before
+        final int version = cached.getVersion();
+
+        // If the sender only typed more characters, the new matches are a subset of the last ones
+        synchronized (lastResults) {
+            final LastResult<ST> last = lastResults.get(sender);
+            if (last != null && last.canNarrow(current, arguments, version, now)) {
+                // Every match is kept, so limited callers can keep narrowing too
+                final List<ST> narrowed = mapper.filter(current, last.suggestions, method);
+                last.narrow(current, narrowed);
+                return limited(narrowed, limit);
+            }
+        }
+
+        // The context is only created when the holder is actually called, narrowing doesn't need it
+        final SuggestionContext<S> context = SuggestionContext.of(current, sender, arguments, argumentsMap, extra, limit);
+        final List<ST> suggestions = mapper.filter(current, cached.getSuggestions(context), method);
+
+        // Narrowing can't serve values older than the cache itself would
+        final long ttl = Math.min(NARROWING_TTL, cached.getPolicy().getTtl().toNanos());
+        synchronized (lastResults) {
+            lastResults.put(sender, new LastResult<>(current, arguments, suggestions, version, now + ttl));
+        }
+
+        return limited(suggestions, limit);
+    }
+
+    // The kept list is narrowed later, callers get their own copy they can't change
+    private static <ST> @NotNull List<ST> limited(final @NotNull List<ST> suggestions, final int limit) {
+        final List<ST> shown = suggestions.size() <= limit ? suggestions : suggestions.subList(0, Math.max(limit, 0));
+        return Collections.unmodifiableList(new ArrayList<>(shown));
     }
 
     @Override
     public @NotNull InternalSuggestion<S, ST> copy(final @NotNull SuggestionMethod method, final @NotNull String extra) {
         return new SimpleSuggestion<>(holder, mapper, method, extra);
     }
+
+    @Override
+    public @NotNull InternalSuggestion<S, ST> forArgument() {
+        // The last results are kept per argument
+        return new SimpleSuggestion<>(holder, mapper, method, extra);
+    }
+
+    /**
+     * The last suggestions a sender got, used to narrow the next ones while the input keeps growing.
+     */
+    private static final class LastResult<ST> {
+
+        // The arguments typed before the one being suggested
+        private final List<String> previous;
+        private final int version;
+        private final long expiresAt;
+
+        private String input;
+        private List<ST> suggestions;
+
+        private LastResult(
+                final @NotNull String input,
+                final @NotNull List<String> arguments,
+                final @NotNull List<ST> suggestions,
+                final int version,
+                final long expiresAt
+        ) {
+            this.input = input;
+            this.previous = new ArrayList<>(arguments.subList(0, Math.max(arguments.size() - 1, 0)));
+            this.suggestions = suggestions;
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean canNarrow(
+                final @NotNull String input,
+                final @NotNull List<String> arguments,
+                final int version,
+                final long now
+        ) {
+            if (now - expiresAt > 0) return false;
+            if (version != this.version) return false;
+            if (!input.startsWith(this.input)) return false;
+            if (arguments.size() - 1 != previous.size()) return false;
+
+            for (int i = 0; i < previous.size(); i++) {
+                if (!previous.get(i).equals(arguments.get(i))) return false;
+            }
+
+            return true;
+        }
+
+        private void narrow(final @NotNull String input, final @NotNull List<ST> suggestions) {
+            this.input = input;
+            this.suggestions = suggestions;
+        }
+    }
 }
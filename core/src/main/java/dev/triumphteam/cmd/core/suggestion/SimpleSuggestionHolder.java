@@ -24,10 +24,16 @@
 package dev.triumphteam.cmd.core.suggestion;
 
 import dev.triumphteam.cmd.core.exceptions.CommandExecutionException;
+import dev.triumphteam.cmd.core.exceptions.CommandRegistrationException;
 import dev.triumphteam.cmd.core.extension.SuggestionMapper;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.List;
 
 public interface SimpleSuggestionHolder<S, ST> {
@@ -39,6 +45,23 @@ public interface SimpleSuggestionHolder<S, ST> {
         boolean contains(final @NotNull String suggestion);
 
         @NotNull List<ST> getSuggestions();
+
+        default @NotNull List<ST> filter(
+                final @NotNull String input,
+                final @NotNull SuggestionMethod method,
+                final @NotNull SuggestionMapper<ST> mapper
+        ) {
+            return filter(input, method, mapper, Integer.MAX_VALUE);
+        }
+
+        default @NotNull List<ST> filter(
+                final @NotNull String input,
+                final @NotNull SuggestionMethod method,
+                final @NotNull SuggestionMapper<ST> mapper,
+                final int limit
+        ) {
+            return mapper.filter(input, getSuggestions(), method, limit);
+        }
     }
 
     class RichResolver<S, ST> implements SimpleSuggestionHolder<S, ST> {
@@ -76,29 +99,41 @@ public interface SimpleSuggestionHolder<S, ST> {
 
     abstract class AbstractLocal<S, ST> implements SimpleSuggestionHolder<S, ST> {
 
-        private final Object invocationInstance;
-        private final Method method;
+        private static final MethodType WITH_CONTEXT = MethodType.methodType(Object.class, SuggestionContext.class);
+        private static final MethodType WITHOUT_CONTEXT = MethodType.methodType(Object.class);
+
+        private final MethodHandle handle;
         private final boolean needsContext;
+        private final String failureMessage;
 
         public AbstractLocal(
                 final @NotNull Object invocationInstance,
                 final @NotNull Method method,
                 final boolean needsContext
         ) {
-            this.invocationInstance = invocationInstance;
-            this.method = method;
             this.needsContext = needsContext;
+            this.failureMessage = "Failed to create suggestions for method '" + method + "'.";
+
+            // Bound once, so each keystroke is a direct call instead of a reflective one
+            try {
+                method.setAccessible(true);
+                final MethodHandle unbound = MethodHandles.lookup().unreflect(method);
+                final MethodHandle bound = Modifier.isStatic(method.getModifiers()) ? unbound : unbound.bindTo(invocationInstance);
+                this.handle = bound.asType(needsContext ? WITH_CONTEXT : WITHOUT_CONTEXT);
+            } catch (final IllegalAccessException | RuntimeException e) {
+                throw new CommandRegistrationException("Could not access suggestion method", method, invocationInstance.getClass());
+            }
         }
 
         protected @NotNull Object invoke(final @NotNull SuggestionContext<S> context) {
             try {
                 if (needsContext) {
-                    return method.invoke(invocationInstance, context);
+                    return (Object) handle.invokeExact(context);
                 }
 
-                return method.invoke(invocationInstance);
-            } catch (final Exception e) {
-                throw new CommandExecutionException("Failed to create suggestions for method '" + method + "'.");
+                return (Object) handle.invokeExact();
+            } catch (final Throwable throwable) {
+                throw new CommandExecutionException(failureMessage, throwable);
             }
         }
     }
@@ -147,14 +182,14 @@ public interface SimpleSuggestionHolder<S, ST> {
 
     class SimpleStatic<ST> implements Static<ST> {
 
-        private final List<String> suggestions;
+        private final StaticSuggestionIndex index;
         private final List<ST> mapped;
 
         public SimpleStatic(
                 final @NotNull List<String> suggestions,
                 final @NotNull List<ST> mapped
         ) {
-            this.suggestions = suggestions;
+            this.index = new StaticSuggestionIndex(suggestions);
             this.mapped = mapped;
         }
 
@@ -165,26 +200,58 @@ public interface SimpleSuggestionHolder<S, ST> {
 
         @Override
         public boolean contains(final @NotNull String suggestion) {
-            return suggestions.contains(suggestion);
+            return index.contains(suggestion);
         }
 
         @Override
         public @NotNull List<ST> getSuggestions() {
             return mapped;
         }
+
+        @Override
+        public @NotNull List<ST> filter(
+                final @NotNull String input,
+                final @NotNull SuggestionMethod method,
+                final @NotNull SuggestionMapper<ST> mapper,
+                final int limit
+        ) {
+            // The values were mapped from these strings, so a prefix lookup on them matches what the mapper would filter
+            if (mapped.size() != index.size()) return mapper.filter(input, mapped, method, limit);
+
+            final int[] matches;
+            switch (method) {
+                case STARTS_WITH:
+                    matches = index.startingWith(input, limit);
+                    break;
+
+                case FUZZY:
+                    matches = index.fuzzy(input, limit);
+                    break;
+
+                default:
+                    return mapper.filter(input, mapped, method, limit);
+            }
+
+            final List<ST> result = new ArrayList<>(matches.length);
+            for (final int match : matches) {
+                result.add(mapped.get(match));
+            }
+            return result;
+        }
     }
 
     class RichStatic<ST> implements Static<ST> {
 
         private final List<ST> suggestions;
-        private final List<String> backwardsMapped;
+        private final StaticSuggestionIndex index;
 
         public RichStatic(
                 final @NotNull List<ST> suggestions,
                 final @NotNull List<String> backwardsMapped
         ) {
             this.suggestions = suggestions;
-            this.backwardsMapped = backwardsMapped;
+            // Rich values may be filtered by something other than their string form, so only membership is indexed
+            this.index = new StaticSuggestionIndex(backwardsMapped);
         }
 
         @Override
@@ -194,7 +261,7 @@ public interface SimpleSuggestionHolder<S, ST> {
 
         @Override
         public boolean contains(final @NotNull String suggestion) {
-            return backwardsMapped.contains(suggestion);
+            return index.contains(suggestion);
         }
 
         @Override
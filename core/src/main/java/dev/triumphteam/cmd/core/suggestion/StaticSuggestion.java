@@ -50,9 +50,10 @@ public final class StaticSuggestion<S, ST> implements InternalSuggestion.Simple<
             final @NotNull S sender,
             final @NotNull String current,
             final @NotNull List<String> arguments,
-            final @NotNull Map<String, String> argumentsMap
+            final @NotNull Map<String, String> argumentsMap,
+            final int limit
     ) {
-        return mapper.filter(current, getSuggestions(), method);
+        return holder.filter(current, method, mapper, limit);
     }
 
     public boolean contains(final @NotNull String suggestion) {
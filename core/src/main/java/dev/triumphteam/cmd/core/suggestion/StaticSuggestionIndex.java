@@ -0,0 +1,208 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable index over a static list of suggestions.
+ * Membership checks use a hash set, and prefix lookups use a binary search over the lower cased values,
+ * so both are fast even with thousands of suggestions.
+ */
+final class StaticSuggestionIndex {
+
+    private static final int[] NO_MATCHES = new int[0];
+
+    private final Set<String> values;
+    // Lower cased values, sorted
+    private final String[] sorted;
+    // The position in the original list of each sorted value
+    private final int[] positions;
+
+    StaticSuggestionIndex(final @NotNull List<String> values) {
+        this.values = new HashSet<>(values);
+
+        final int size = values.size();
+        final String[] lowerCased = new String[size];
+        final Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            lowerCased[i] = values.get(i).toLowerCase();
+            order[i] = i;
+        }
+
+        Arrays.sort(order, Comparator.comparing(index -> lowerCased[index]));
+
+        this.sorted = new String[size];
+        this.positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = lowerCased[order[i]];
+            positions[i] = order[i];
+        }
+    }
+
+    public int size() {
+        return sorted.length;
+    }
+
+    public boolean contains(final @NotNull String value) {
+        return values.contains(value);
+    }
+
+    /**
+     * Finds every value starting with the given prefix, ignoring case.
+     *
+     * @param prefix The prefix to look for.
+     * @return The positions of the matches in the original list, in their original order.
+     */
+    public int @NotNull [] startingWith(final @NotNull String prefix) {
+        return startingWith(prefix, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the first values, in their original order, starting with the given prefix, ignoring case.
+     *
+     * @param prefix The prefix to look for.
+     * @param limit  The maximum amount of matches to return.
+     * @return The positions of the matches in the original list, in their original order.
+     */
+    public int @NotNull [] startingWith(final @NotNull String prefix, final int limit) {
+        if (limit <= 0) return NO_MATCHES;
+
+        final String lowerPrefix = prefix.toLowerCase();
+
+        final int from = firstMatch(lowerPrefix);
+        final int to = lastMatch(lowerPrefix, from);
+        if (from >= to) return NO_MATCHES;
+
+        if (to - from <= limit) {
+            final int[] matches = Arrays.copyOfRange(positions, from, to);
+            Arrays.sort(matches);
+            return matches;
+        }
+
+        // Only keep the lowest positions instead of sorting the whole range
+        final int[] matches = Arrays.copyOfRange(positions, from, from + limit);
+        Arrays.sort(matches);
+        for (int i = from + limit; i < to; i++) {
+            final int position = positions[i];
+            if (position > matches[limit - 1]) continue;
+
+            int insertion = -(Arrays.binarySearch(matches, position) + 1);
+            System.arraycopy(matches, insertion, matches, insertion + 1, limit - insertion - 1);
+            matches[insertion] = position;
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the values within the fuzzy distance of the input, see {@link FuzzyMatcher}.
+     * Sorted values that share a prefix reuse the rows computed for it, and skip it entirely if it can't match.
+     *
+     * @param input The typed input.
+     * @param limit The maximum amount of matches.
+     * @return The positions of the matches in the original list, best match first.
+     */
+    public int @NotNull [] fuzzy(final @NotNull String input, final int limit) {
+        if (limit <= 0) return NO_MATCHES;
+
+        final String lowerInput = input.toLowerCase();
+        final FuzzyMatcher.Rows rows = new FuzzyMatcher.Rows(lowerInput);
+        final FuzzyMatcher.Ranking<Integer> ranking = new FuzzyMatcher.Ranking<>(FuzzyMatcher.maxDistance(lowerInput), limit);
+
+        String previous = "";
+        // How many rows of the previous value are computed
+        int computed = 0;
+        // Depth after which the previous value's distance could no longer change, -1 if it never settled
+        int settledAt = -1;
+
+        for (int i = 0; i < sorted.length; i++) {
+            final String value = sorted[i];
+            final int common = FuzzyMatcher.commonPrefix(previous, value);
+
+            // The previous prefix can't match, jump over every value that shares it
+            if (settledAt != -1 && common >= settledAt && rows.best(settledAt) > ranking.threshold()) {
+                i = lastMatch(previous.substring(0, settledAt), i) - 1;
+                continue;
+            }
+
+            if (settledAt == -1 || common < settledAt) {
+                settledAt = -1;
+                int depth = Math.min(common, computed);
+
+                while (depth < value.length()) {
+                    depth++;
+                    final int min = rows.compute(depth, value.charAt(depth - 1));
+                    if (min >= rows.best(depth) || (min > ranking.threshold() && rows.best(depth) > ranking.threshold())) {
+                        settledAt = depth;
+                        break;
+                    }
+                }
+
+                computed = depth;
+                previous = value;
+            }
+
+            // Every value sharing the settled prefix has the same distance
+            final int distance = rows.best(settledAt == -1 ? value.length() : settledAt);
+            if (distance > ranking.threshold()) continue;
+
+            ranking.add(positions[i], distance, FuzzyMatcher.commonPrefix(lowerInput, value), positions[i]);
+        }
+
+        final List<Integer> matches = ranking.toList();
+        final int[] result = new int[matches.size()];
+        for (int i = 0; i < result.length; i++) result[i] = matches.get(i);
+        return result;
+    }
+
+    // First value that is not smaller than the lower cased prefix
+    int firstMatch(final @NotNull String prefix) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (sorted[middle].compareTo(prefix) < 0) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    // First value after the start that no longer begins with the prefix
+    int lastMatch(final @NotNull String prefix, final int from) {
+        int low = from;
+        int high = sorted.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (sorted[middle].startsWith(prefix)) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+}
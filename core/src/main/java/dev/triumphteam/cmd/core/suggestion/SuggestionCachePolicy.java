@@ -0,0 +1,222 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes how the results of a suggestion resolver should be cached.
+ * Only the resolved values are cached, they're still filtered by the current input on every call,
+ * so the resolver must not depend on {@link SuggestionContext#getInput()}.
+ */
+public final class SuggestionCachePolicy {
+
+    private final Scope scope;
+    private final List<String> dependencies;
+    private final Duration ttl;
+    private final int maxSize;
+    private final Eviction eviction;
+    private final boolean prefetch;
+
+    private SuggestionCachePolicy(final @NotNull Builder builder) {
+        this.scope = builder.scope;
+        this.dependencies = Collections.unmodifiableList(new ArrayList<>(builder.dependencies));
+        this.ttl = builder.ttl;
+        this.maxSize = builder.maxSize;
+        this.eviction = builder.eviction;
+        this.prefetch = builder.prefetch;
+    }
+
+    @Contract(" -> new")
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    public @NotNull Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * @return The names of the arguments whose values are part of the cache key.
+     */
+    public @NotNull List<String> getDependencies() {
+        return dependencies;
+    }
+
+    public @NotNull Duration getTtl() {
+        return ttl;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public @NotNull Eviction getEviction() {
+        return eviction;
+    }
+
+    /**
+     * @return Whether the results are resolved in the background as soon as a sender's session starts.
+     */
+    public boolean isPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Who shares the cached results.
+     */
+    public enum Scope {
+        /**
+         * One result shared by everyone.
+         */
+        GLOBAL,
+        /**
+         * One result per sender.
+         */
+        SENDER,
+        /**
+         * One result per combination of values of the arguments it depends on.
+         */
+        ARGUMENTS
+    }
+
+    /**
+     * Which entry is removed when the cache is full.
+     */
+    public enum Eviction {
+        /**
+         * Removes the least recently used entry.
+         */
+        LRU,
+        /**
+         * Removes the least frequently used entry.
+         */
+        LFU
+    }
+
+    public static final class Builder {
+
+        private Scope scope = Scope.GLOBAL;
+        private List<String> dependencies = Collections.emptyList();
+        private Duration ttl = Duration.ofSeconds(5);
+        private int maxSize = 256;
+        private Eviction eviction = Eviction.LRU;
+        private boolean prefetch = false;
+
+        /**
+         * Sets the scope of the cache, defaults to {@link Scope#GLOBAL}.
+         *
+         * @param scope The {@link Scope} to use.
+         * @return This builder.
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder scope(final @NotNull Scope scope) {
+            this.scope = scope;
+            return this;
+        }
+
+        /**
+         * Sets the arguments the suggestions depend on, their values become part of the key.
+         * Required by {@link Scope#ARGUMENTS}, but can also be combined with {@link Scope#SENDER}.
+         *
+         * @param arguments The names of the arguments, as found in {@link SuggestionContext#getArgumentsMap()}.
+         * @return This builder.
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder dependsOn(final @NotNull String @NotNull ... arguments) {
+            this.dependencies = Arrays.asList(arguments);
+            return this;
+        }
+
+        /**
+         * Sets how long a result stays cached, defaults to 5 seconds.
+         *
+         * @param ttl The time to live of each result.
+         * @return This builder.
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder ttl(final @NotNull Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of results kept, defaults to 256.
+         *
+         * @param maxSize The maximum size.
+         * @return This builder.
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder maxSize(final int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets the eviction used once the cache is full, defaults to {@link Eviction#LRU}.
+         *
+         * @param eviction The {@link Eviction} to use.
+         * @return This builder.
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder eviction(final @NotNull Eviction eviction) {
+            this.eviction = eviction;
+            return this;
+        }
+
+        /**
+         * Resolves the results in the background when a sender's session starts, like when a player joins,
+         * so the first tab completion is already cached. Requires the {@link Scope#SENDER} scope without dependencies,
+         * since no arguments are typed yet at that point.
+         *
+         * @return This builder.
+         */
+        @Contract(" -> this")
+        public @NotNull Builder prefetch() {
+            this.prefetch = true;
+            return this;
+        }
+
+        @Contract(" -> new")
+        public @NotNull SuggestionCachePolicy build() {
+            if (maxSize < 1) throw new IllegalArgumentException("Cache max size must be at least 1.");
+            if (ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("Cache TTL must be positive.");
+            if (scope == Scope.ARGUMENTS && dependencies.isEmpty()) {
+                throw new IllegalArgumentException("The ARGUMENTS scope requires at least one argument to depend on.");
+            }
+            if (prefetch && (scope != Scope.SENDER || !dependencies.isEmpty())) {
+                throw new IllegalArgumentException("Prefetching requires the SENDER scope without dependencies.");
+            }
+
+            return new SuggestionCachePolicy(this);
+        }
+    }
+}
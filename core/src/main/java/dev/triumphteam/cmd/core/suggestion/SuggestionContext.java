@@ -36,6 +36,7 @@ public final class SuggestionContext<S> {
     private final List<String> arguments;
     private final Map<String, String> argumentsMap;
     private final String extra;
+    private final int limit;
 
     public SuggestionContext(
             final @NotNull String input,
@@ -43,12 +44,35 @@ public final class SuggestionContext<S> {
             final @NotNull List<String> arguments,
             final @NotNull Map<String, String> argumentsMap,
             final @NotNull String extra
+    ) {
+        this(input, sender, arguments, argumentsMap, extra, Integer.MAX_VALUE);
+    }
+
+    public SuggestionContext(
+            final @NotNull String input,
+            final @NotNull S sender,
+            final @NotNull List<String> arguments,
+            final @NotNull Map<String, String> argumentsMap,
+            final @NotNull String extra,
+            final int limit
     ) {
         this.input = input;
         this.sender = sender;
         this.arguments = arguments;
         this.argumentsMap = argumentsMap;
         this.extra = extra;
+        this.limit = limit;
+    }
+
+    public static <S> @NotNull SuggestionContext<S> of(
+            final @NotNull String input,
+            final @NotNull S sender,
+            final @NotNull List<String> arguments,
+            final @NotNull Map<String, String> argumentsMap,
+            final @NotNull String extra,
+            final int limit
+    ) {
+        return new SuggestionContext<>(input, sender, arguments, argumentsMap, extra, limit);
     }
 
     public static <S> @NotNull SuggestionContext<S> of(
@@ -78,10 +102,20 @@ public final class SuggestionContext<S> {
         return sender;
     }
 
+    /**
+     * The arguments typed so far, only valid for the duration of a synchronous call, copy them to keep them around.
+     *
+     * @return The typed arguments.
+     */
     public @NotNull List<String> getArguments() {
         return arguments;
     }
 
+    /**
+     * The arguments typed so far by name, only valid for the duration of a synchronous call, copy them to keep them around.
+     *
+     * @return The typed arguments by name.
+     */
     public @NotNull Map<String, String> getArgumentsMap() {
         return argumentsMap;
     }
@@ -90,16 +124,26 @@ public final class SuggestionContext<S> {
         return extra;
     }
 
+    /**
+     * The maximum amount of suggestions the platform will show.
+     * Resolvers may stop producing suggestions once they have this many, anything past it is discarded.
+     *
+     * @return The suggestion limit, {@link Integer#MAX_VALUE} if there is none.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         final SuggestionContext<?> that = (SuggestionContext<?>) o;
-        return Objects.equals(input, that.input) && Objects.equals(sender, that.sender) && Objects.equals(arguments, that.arguments) && Objects.equals(extra, that.extra);
+        return Objects.equals(input, that.input) && Objects.equals(sender, that.sender) && Objects.equals(arguments, that.arguments) && Objects.equals(extra, that.extra) && limit == that.limit;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(input, sender, arguments, extra);
+        return Objects.hash(input, sender, arguments, extra, limit);
     }
 
     @Override
@@ -109,6 +153,7 @@ public final class SuggestionContext<S> {
                 ", sender=" + sender +
                 ", arguments=" + arguments +
                 ", extra='" + extra + '\'' +
+                ", limit=" + limit +
                 '}';
     }
 }
@@ -0,0 +1,550 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A mutable set of suggestions meant for large amounts of values, like item IDs, region names or usernames.
+ * Values are kept in a compressed prefix trie for {@link SuggestionMethod#STARTS_WITH},
+ * and in a trigram index for {@link SuggestionMethod#CONTAINS}, both ignoring case.
+ * Results are always sorted and lookups stop as soon as the limit is reached.
+ * Values can be added and removed at any time, from any thread.
+ */
+public final class SuggestionDictionary {
+
+    private static final int GRAM = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node("");
+    // Lower cased value to every original value with it
+    private final Map<String, NavigableSet<String>> values = new HashMap<>();
+    // Trigram to the lower cased values containing it
+    private final Map<String, NavigableSet<String>> trigrams = new HashMap<>();
+
+    public SuggestionDictionary() {}
+
+    public SuggestionDictionary(final @NotNull Collection<String> values) {
+        addAll(values);
+    }
+
+    @Contract("_ -> new")
+    public static @NotNull SuggestionDictionary of(final @NotNull String @NotNull ... values) {
+        return new SuggestionDictionary(Arrays.asList(values));
+    }
+
+    /**
+     * Adds a value to the dictionary.
+     *
+     * @param value The value to add.
+     * @return Whether the value was not present yet.
+     */
+    public boolean add(final @NotNull String value) {
+        lock.writeLock().lock();
+        try {
+            return addValue(value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds all the values to the dictionary.
+     *
+     * @param values The values to add.
+     */
+    public void addAll(final @NotNull Collection<String> values) {
+        lock.writeLock().lock();
+        try {
+            values.forEach(this::addValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a value from the dictionary.
+     *
+     * @param value The value to remove.
+     * @return Whether the value was present.
+     */
+    public boolean remove(final @NotNull String value) {
+        lock.writeLock().lock();
+        try {
+            final String key = value.toLowerCase();
+            final NavigableSet<String> originals = values.get(key);
+            if (originals == null || !originals.remove(value)) return false;
+            if (!originals.isEmpty()) return true;
+
+            values.remove(key);
+            root.remove(key, 0);
+
+            for (final String trigram : trigramsOf(key)) {
+                final NavigableSet<String> indexed = trigrams.get(trigram);
+                if (indexed == null) continue;
+                indexed.remove(key);
+                if (indexed.isEmpty()) trigrams.remove(trigram);
+            }
+
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            values.clear();
+            trigrams.clear();
+            root.children = Node.NO_CHILDREN;
+            root.terminal = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(final @NotNull String value) {
+        lock.readLock().lock();
+        try {
+            final NavigableSet<String> originals = values.get(value.toLowerCase());
+            return originals != null && originals.contains(value);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return values.values().stream().mapToInt(NavigableSet::size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the values matching the input using the given method.
+     *
+     * @param input  The typed input.
+     * @param method The {@link SuggestionMethod} to match with.
+     * @param limit  The maximum amount of values to return.
+     * @return The matching values, sorted.
+     */
+    public @NotNull List<String> search(final @NotNull String input, final @NotNull SuggestionMethod method, final int limit) {
+        switch (method) {
+            case CONTAINS:
+                return containing(input, limit);
+
+            case STARTS_WITH:
+                return startingWith(input, limit);
+
+            case FUZZY:
+                return fuzzy(input, limit);
+
+            default:
+                return startingWith("", limit);
+        }
+    }
+
+    /**
+     * Finds the values starting with the prefix, ignoring case.
+     *
+     * @param prefix The prefix to look for.
+     * @param limit  The maximum amount of values to return.
+     * @return The matching values, sorted.
+     */
+    public @NotNull List<String> startingWith(final @NotNull String prefix, final int limit) {
+        if (limit <= 0) return Collections.emptyList();
+        final String key = prefix.toLowerCase();
+
+        lock.readLock().lock();
+        try {
+            // Walk down to the node under which every key with the prefix is found
+            Node node = root;
+            String path = "";
+            int offset = 0;
+
+            while (offset < key.length()) {
+                final int index = node.indexOf(key.charAt(offset));
+                if (index < 0) return Collections.emptyList();
+
+                final Node child = node.children[index];
+                final int remaining = key.length() - offset;
+
+                // The prefix may end in the middle of the edge
+                if (child.label.length() > remaining) {
+                    if (!child.label.regionMatches(0, key, offset, remaining)) return Collections.emptyList();
+                } else if (!key.startsWith(child.label, offset)) {
+                    return Collections.emptyList();
+                }
+
+                path = key.substring(0, offset) + child.label;
+                offset += child.label.length();
+                node = child;
+            }
+
+            final List<String> result = new ArrayList<>(Math.min(limit, 16));
+            node.collect(path, this, result, limit);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the values containing the input, ignoring case.
+     *
+     * @param input The text to look for.
+     * @param limit The maximum amount of values to return.
+     * @return The matching values, sorted.
+     */
+    public @NotNull List<String> containing(final @NotNull String input, final int limit) {
+        if (limit <= 0) return Collections.emptyList();
+        final String key = input.toLowerCase();
+
+        lock.readLock().lock();
+        try {
+            final List<String> result = new ArrayList<>(Math.min(limit, 16));
+
+            // Too short for the index, walk everything in order until the limit
+            if (key.length() < GRAM) {
+                root.collectContaining("", key, this, result, limit);
+                return result;
+            }
+
+            // Walk the smallest posting list, everything containing the input must be in all of them
+            final List<String> grams = trigramsOf(key);
+            NavigableSet<String> smallest = null;
+            for (final String gram : grams) {
+                final NavigableSet<String> indexed = trigrams.get(gram);
+                if (indexed == null) return Collections.emptyList();
+                if (smallest == null || indexed.size() < smallest.size()) smallest = indexed;
+            }
+
+            for (final String candidate : smallest) {
+                if (!candidate.contains(key)) continue;
+                if (addOriginals(candidate, result, limit)) break;
+            }
+
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the values within the fuzzy distance of the input, see {@link FuzzyMatcher}.
+     * The trie is walked computing one edit distance row per character, and branches that can't match are skipped.
+     *
+     * @param input The typed input.
+     * @param limit The maximum amount of values to return.
+     * @return The best matches, ranked.
+     */
+    public @NotNull List<String> fuzzy(final @NotNull String input, final int limit) {
+        if (limit <= 0) return Collections.emptyList();
+        final String key = input.toLowerCase();
+
+        lock.readLock().lock();
+        try {
+            final FuzzyMatcher.Rows rows = new FuzzyMatcher.Rows(key);
+            final FuzzyMatcher.Ranking<String> ranking = new FuzzyMatcher.Ranking<>(FuzzyMatcher.maxDistance(key), limit);
+            root.collectFuzzy("", key, rows, ranking, this, new int[1]);
+            return ranking.toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rank(
+            final @NotNull String key,
+            final @NotNull String input,
+            final int distance,
+            final @NotNull FuzzyMatcher.Ranking<String> ranking,
+            final int @NotNull [] order
+    ) {
+        final NavigableSet<String> originals = values.get(key);
+        if (originals == null) return;
+
+        final int prefix = FuzzyMatcher.commonPrefix(input, key);
+        for (final String original : originals) {
+            ranking.add(original, distance, prefix, order[0]++);
+        }
+    }
+
+    private boolean addValue(final @NotNull String value) {
+        final String key = value.toLowerCase();
+        final NavigableSet<String> originals = values.get(key);
+        if (originals != null) return originals.add(value);
+
+        final NavigableSet<String> created = new TreeSet<>();
+        created.add(value);
+        values.put(key, created);
+        root.insert(key, 0);
+
+        for (final String trigram : trigramsOf(key)) {
+            trigrams.computeIfAbsent(trigram, it -> new TreeSet<>()).add(key);
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds the original values of a key to the result.
+     *
+     * @return Whether the limit was reached.
+     */
+    private boolean addOriginals(final @NotNull String key, final @NotNull List<String> result, final int limit) {
+        final NavigableSet<String> originals = values.get(key);
+        if (originals == null) return result.size() >= limit;
+
+        for (final String original : originals) {
+            if (result.size() >= limit) return true;
+            result.add(original);
+        }
+
+        return result.size() >= limit;
+    }
+
+    private static @NotNull List<String> trigramsOf(final @NotNull String key) {
+        if (key.length() < GRAM) return Collections.emptyList();
+
+        final List<String> grams = new ArrayList<>(key.length() - GRAM + 1);
+        for (int i = 0; i <= key.length() - GRAM; i++) {
+            final String gram = key.substring(i, i + GRAM);
+            if (!grams.contains(gram)) grams.add(gram);
+        }
+        return grams;
+    }
+
+    /**
+     * A node of the compressed trie, each edge holds as many characters as possible.
+     */
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private String label;
+        // Sorted by the first character of the label
+        private Node[] children = NO_CHILDREN;
+        private boolean terminal = false;
+
+        private Node(final @NotNull String label) {
+            this.label = label;
+        }
+
+        private void insert(final @NotNull String key, final int offset) {
+            if (offset == key.length()) {
+                terminal = true;
+                return;
+            }
+
+            final int index = indexOf(key.charAt(offset));
+            if (index < 0) {
+                final Node node = new Node(key.substring(offset));
+                node.terminal = true;
+                addChild(-(index + 1), node);
+                return;
+            }
+
+            final Node child = children[index];
+            final int common = commonLength(child.label, key, offset);
+
+            if (common < child.label.length()) {
+                // Split the edge where the key diverges
+                final Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children = new Node[]{child};
+                children[index] = split;
+                split.insert(key, offset + common);
+                return;
+            }
+
+            child.insert(key, offset + common);
+        }
+
+        /**
+         * Removes the key below this node.
+         *
+         * @return Whether this node is no longer needed.
+         */
+        private boolean remove(final @NotNull String key, final int offset) {
+            if (offset == key.length()) {
+                terminal = false;
+            } else {
+                final int index = indexOf(key.charAt(offset));
+                if (index < 0) return false;
+
+                final Node child = children[index];
+                if (!key.startsWith(child.label, offset)) return false;
+
+                if (child.remove(key, offset + child.label.length())) {
+                    removeChild(index);
+                } else if (!child.terminal && child.children.length == 1) {
+                    // Merge the child with its only child to keep the trie compressed
+                    final Node grandchild = child.children[0];
+                    grandchild.label = child.label + grandchild.label;
+                    children[index] = grandchild;
+                }
+            }
+
+            return !terminal && children.length == 0;
+        }
+
+        private boolean collect(
+                final @NotNull String key,
+                final @NotNull SuggestionDictionary dictionary,
+                final @NotNull List<String> result,
+                final int limit
+        ) {
+            if (terminal && dictionary.addOriginals(key, result, limit)) return true;
+
+            for (final Node child : children) {
+                if (child.collect(key + child.label, dictionary, result, limit)) return true;
+            }
+
+            return result.size() >= limit;
+        }
+
+        private boolean collectContaining(
+                final @NotNull String key,
+                final @NotNull String input,
+                final @NotNull SuggestionDictionary dictionary,
+                final @NotNull List<String> result,
+                final int limit
+        ) {
+            if (terminal && key.contains(input) && dictionary.addOriginals(key, result, limit)) return true;
+
+            for (final Node child : children) {
+                if (child.collectContaining(key + child.label, input, dictionary, result, limit)) return true;
+            }
+
+            return result.size() >= limit;
+        }
+
+        private void collectFuzzy(
+                final @NotNull String key,
+                final @NotNull String input,
+                final @NotNull FuzzyMatcher.Rows rows,
+                final @NotNull FuzzyMatcher.Ranking<String> ranking,
+                final @NotNull SuggestionDictionary dictionary,
+                final int @NotNull [] order
+        ) {
+            final int depth = key.length();
+            if (terminal && rows.best(depth) <= ranking.threshold()) {
+                dictionary.rank(key, input, rows.best(depth), ranking, order);
+            }
+
+            for (final Node child : children) {
+                int childDepth = depth;
+                boolean settled = false;
+
+                for (int i = 0; i < child.label.length(); i++) {
+                    childDepth++;
+                    final int min = rows.compute(childDepth, child.label.charAt(i));
+                    final int threshold = ranking.threshold();
+                    if (min >= rows.best(childDepth) || (min > threshold && rows.best(childDepth) > threshold)) {
+                        settled = true;
+                        break;
+                    }
+                }
+
+                final String childKey = key + child.label;
+                if (!settled) {
+                    child.collectFuzzy(childKey, input, rows, ranking, dictionary, order);
+                    continue;
+                }
+
+                // The distance can't change anymore, everything below has the same one
+                final int distance = rows.best(childDepth);
+                if (distance <= ranking.threshold()) child.rankAll(childKey, input, distance, ranking, dictionary, order);
+            }
+        }
+
+        private void rankAll(
+                final @NotNull String key,
+                final @NotNull String input,
+                final int distance,
+                final @NotNull FuzzyMatcher.Ranking<String> ranking,
+                final @NotNull SuggestionDictionary dictionary,
+                final int @NotNull [] order
+        ) {
+            if (distance > ranking.threshold()) return;
+            if (terminal) dictionary.rank(key, input, distance, ranking, order);
+
+            for (final Node child : children) {
+                child.rankAll(key + child.label, input, distance, ranking, dictionary, order);
+            }
+        }
+
+        private int indexOf(final char character) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                final char current = children[middle].label.charAt(0);
+                if (current < character) low = middle + 1;
+                else if (current > character) high = middle - 1;
+                else return middle;
+            }
+            return -(low + 1);
+        }
+
+        private void addChild(final int position, final @NotNull Node node) {
+            final Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, position);
+            newChildren[position] = node;
+            System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+            children = newChildren;
+        }
+
+        private void removeChild(final int position) {
+            final Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, position);
+            System.arraycopy(children, position + 1, newChildren, position, children.length - position - 1);
+            children = newChildren;
+        }
+
+        private static int commonLength(final @NotNull String label, final @NotNull String key, final int offset) {
+            final int max = Math.min(label.length(), key.length() - offset);
+            int length = 0;
+            while (length < max && label.charAt(length) == key.charAt(offset + length)) length++;
+            return length;
+        }
+    }
+}
@@ -26,5 +26,9 @@ package dev.triumphteam.cmd.core.suggestion;
 public enum SuggestionMethod {
     STARTS_WITH,
     CONTAINS,
+    /**
+     * Matches values with small typos, ranked by how close they are, see {@link FuzzyMatcher}.
+     */
+    FUZZY,
     NONE;
 }
@@ -0,0 +1,344 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of how often each suggested value is actually executed, per argument, so popular values can be suggested first.
+ * Counts are halved every half-life, so values that stopped being used slowly lose their rank.
+ * Recording is lock-free, the counters are only synchronized once per half-life to apply the decay.
+ */
+public final class SuggestionRanking {
+
+    private static final int FILE_MAGIC = 0x54524B31; // "TRK1"
+
+    private final Map<String, Map<String, Counter>> counters = new ConcurrentHashMap<>();
+    private final long halfLife;
+    private final int maxValues;
+
+    /**
+     * @param halfLife  How long it takes for a count to be halved.
+     * @param maxValues The maximum amount of values tracked per argument.
+     */
+    public SuggestionRanking(final @NotNull Duration halfLife, final int maxValues) {
+        if (halfLife.isNegative() || halfLife.isZero()) {
+            throw new IllegalArgumentException("The half-life of the suggestion ranking must be positive");
+        }
+
+        if (maxValues <= 0) {
+            throw new IllegalArgumentException("The suggestion ranking must track at least one value per argument");
+        }
+
+        this.halfLife = halfLife.toMillis();
+        this.maxValues = maxValues;
+    }
+
+    public SuggestionRanking(final @NotNull Duration halfLife) {
+        this(halfLife, 512);
+    }
+
+    /**
+     * Records that the value was executed for the argument.
+     * Once the argument tracks {@code maxValues} values, the lowest scored ones are dropped to make room.
+     *
+     * @param argument The id of the argument.
+     * @param value    The value that was executed.
+     */
+    public void record(final @NotNull String argument, final @NotNull String value) {
+        final Map<String, Counter> values = counters.computeIfAbsent(argument, it -> new ConcurrentHashMap<>());
+        final long epoch = currentEpoch();
+
+        Counter counter = values.get(value);
+        if (counter == null) {
+            if (values.size() >= maxValues) evict(values, epoch);
+            counter = values.computeIfAbsent(value, it -> new Counter(epoch));
+        }
+
+        counter.increment(epoch);
+    }
+
+    /**
+     * @param argument The id of the argument.
+     * @return Whether anything was recorded for the argument.
+     */
+    public boolean hasStats(final @NotNull String argument) {
+        final Map<String, Counter> values = counters.get(argument);
+        return values != null && !values.isEmpty();
+    }
+
+    /**
+     * Gets the decayed count of the value.
+     *
+     * @param argument The id of the argument.
+     * @param value    The value.
+     * @return The amount of times the value was executed, after decay.
+     */
+    public long score(final @NotNull String argument, final @NotNull String value) {
+        final Map<String, Counter> values = counters.get(argument);
+        if (values == null) return 0;
+
+        final Counter counter = values.get(value);
+        if (counter == null) return 0;
+
+        return counter.sum(currentEpoch());
+    }
+
+    /**
+     * Orders the values by popularity and returns the top {@code limit} of them.
+     * Values with the same score, including the ones never executed, keep their original order.
+     *
+     * @param argument The id of the argument.
+     * @param values   The values to rank.
+     * @param keys     The string form of each value, in the same order.
+     * @param limit    The maximum amount of values to return.
+     * @param <T>      The type of the values.
+     * @return The ranked values.
+     */
+    public <T> @NotNull List<T> rank(
+            final @NotNull String argument,
+            final @NotNull List<T> values,
+            final @NotNull List<String> keys,
+            final int limit
+    ) {
+        final int size = Math.min(values.size(), Math.max(limit, 0));
+        final Map<String, Counter> argumentCounters = counters.get(argument);
+        if (argumentCounters == null || argumentCounters.isEmpty()) {
+            return size == values.size() ? values : new ArrayList<>(values.subList(0, size));
+        }
+
+        // Only the executed values need to be sorted, everything else keeps its position after them
+        final long epoch = currentEpoch();
+        final List<Scored> scored = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            final Counter counter = argumentCounters.get(keys.get(i));
+            if (counter == null) continue;
+
+            final long score = counter.sum(epoch);
+            if (score > 0) scored.add(new Scored(i, score));
+        }
+
+        if (scored.isEmpty()) {
+            return size == values.size() ? values : new ArrayList<>(values.subList(0, size));
+        }
+
+        scored.sort((first, second) -> {
+            final int compare = Long.compare(second.score, first.score);
+            return compare != 0 ? compare : Integer.compare(first.position, second.position);
+        });
+
+        final List<T> result = new ArrayList<>(size);
+        final boolean[] taken = new boolean[values.size()];
+        for (int i = 0; i < scored.size() && result.size() < size; i++) {
+            final int position = scored.get(i).position;
+            taken[position] = true;
+            result.add(values.get(position));
+        }
+
+        for (int i = 0; i < values.size() && result.size() < size; i++) {
+            if (!taken[i]) result.add(values.get(i));
+        }
+
+        return result;
+    }
+
+    /**
+     * Forgets everything recorded for the argument.
+     *
+     * @param argument The id of the argument.
+     */
+    public void clear(final @NotNull String argument) {
+        counters.remove(argument);
+    }
+
+    /**
+     * Forgets everything recorded.
+     */
+    public void clear() {
+        counters.clear();
+    }
+
+    /**
+     * Saves the decayed counts to the file, values that fully decayed are left out.
+     * The file is written next to the target first and then moved over it, so a crash never leaves it half written.
+     *
+     * @param path The file to save to.
+     * @throws IOException If the file could not be written.
+     */
+    public void save(final @NotNull Path path) throws IOException {
+        final long epoch = currentEpoch();
+        final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(FILE_MAGIC);
+            output.writeInt(counters.size());
+
+            for (final Map.Entry<String, Map<String, Counter>> argument : counters.entrySet()) {
+                final List<Map.Entry<String, Long>> values = new ArrayList<>();
+                for (final Map.Entry<String, Counter> value : argument.getValue().entrySet()) {
+                    final long score = value.getValue().sum(epoch);
+                    if (score > 0) values.add(new AbstractMap.SimpleImmutableEntry<>(value.getKey(), score));
+                }
+
+                output.writeUTF(argument.getKey());
+                output.writeInt(values.size());
+                for (final Map.Entry<String, Long> value : values) {
+                    output.writeUTF(value.getKey());
+                    output.writeLong(value.getValue());
+                }
+            }
+        }
+
+        try {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException ignored) {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Loads counts previously saved with {@link #save(Path)}, adding them to the current ones.
+     * Nothing is loaded if the file doesn't exist.
+     *
+     * @param path The file to load from.
+     * @throws IOException If the file could not be read or is not a suggestion ranking file.
+     */
+    public void load(final @NotNull Path path) throws IOException {
+        if (!Files.exists(path)) return;
+
+        final long epoch = currentEpoch();
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != FILE_MAGIC) {
+                throw new IOException("\"" + path + "\" is not a suggestion ranking file");
+            }
+
+            final int arguments = input.readInt();
+            for (int i = 0; i < arguments; i++) {
+                final Map<String, Counter> values = counters.computeIfAbsent(input.readUTF(), it -> new ConcurrentHashMap<>());
+
+                final int size = input.readInt();
+                for (int j = 0; j < size; j++) {
+                    final String value = input.readUTF();
+                    final long score = input.readLong();
+
+                    if (values.size() >= maxValues && !values.containsKey(value)) evict(values, epoch);
+                    values.computeIfAbsent(value, it -> new Counter(epoch)).add(epoch, score);
+                }
+            }
+        }
+    }
+
+    /**
+     * Makes room in a full argument by dropping its lowest scored values, so new values can still make it in.
+     * A quarter of the values is dropped at once, which keeps the sorting rare instead of happening on every new value.
+     */
+    private void evict(final @NotNull Map<String, Counter> values, final long epoch) {
+        synchronized (values) {
+            // Another thread may have already made room
+            if (values.size() < maxValues) return;
+
+            final List<Map.Entry<String, Long>> scores = new ArrayList<>(values.size());
+            for (final Map.Entry<String, Counter> entry : values.entrySet()) {
+                scores.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().sum(epoch)));
+            }
+            scores.sort(Map.Entry.comparingByValue());
+
+            final int evicted = Math.max(1, maxValues / 4);
+            for (int i = 0; i < evicted && i < scores.size(); i++) {
+                values.remove(scores.get(i).getKey());
+            }
+        }
+    }
+
+    private long currentEpoch() {
+        return System.currentTimeMillis() / halfLife;
+    }
+
+    private static final class Counter {
+
+        private final LongAdder count = new LongAdder();
+        private volatile long epoch;
+
+        private Counter(final long epoch) {
+            this.epoch = epoch;
+        }
+
+        private void increment(final long epoch) {
+            decay(epoch);
+            count.increment();
+        }
+
+        private void add(final long epoch, final long amount) {
+            decay(epoch);
+            count.add(amount);
+        }
+
+        private long sum(final long epoch) {
+            decay(epoch);
+            return count.sum();
+        }
+
+        private void decay(final long epoch) {
+            if (this.epoch >= epoch) return;
+
+            synchronized (this) {
+                final long elapsed = epoch - this.epoch;
+                if (elapsed <= 0) return;
+
+                // Increments racing with the reset are kept, they just skip this decay
+                final long current = count.sumThenReset();
+                if (elapsed < Long.SIZE - 1) count.add(current >> elapsed);
+                this.epoch = epoch;
+            }
+        }
+    }
+
+    private static final class Scored {
+
+        private final int position;
+        private final long score;
+
+        private Scored(final int position, final long score) {
+            this.position = position;
+            this.score = score;
+        }
+    }
+}
@@ -23,15 +23,20 @@
  */
 package dev.triumphteam.cmd.core.suggestion;
 
+import dev.triumphteam.cmd.core.exceptions.CommandRegistrationException;
 import dev.triumphteam.cmd.core.extension.SuggestionMapper;
 import dev.triumphteam.cmd.core.extension.registry.Registry;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * Registry used for registering new suggestions for all commands to use.
@@ -40,14 +45,18 @@ import java.util.Map;
  */
 public final class SuggestionRegistry<S, ST> implements Registry {
 
-    private final Map<SuggestionKey, InternalSuggestion<S, ST>> suggestions = new HashMap<>();
-    private final Map<Class<?>, InternalSuggestion<S, ST>> typeSuggestions = new HashMap<>();
+    // Concurrent maps, prefetching and asynchronous completions read these off the registering thread
+    private final Map<SuggestionKey, InternalSuggestion<S, ST>> suggestions = new ConcurrentHashMap<>();
+    private final Map<Class<?>, InternalSuggestion<S, ST>> typeSuggestions = new ConcurrentHashMap<>();
+
+    private final Map<SuggestionKey, CachedSuggestionHolder<S, ST>> cachedSuggestions = new ConcurrentHashMap<>();
+    private final Map<Class<?>, CachedSuggestionHolder<S, ST>> cachedTypeSuggestions = new ConcurrentHashMap<>();
 
     public void register(
             final @NotNull SuggestionKey key,
             final @NotNull InternalSuggestion<S, ST> suggestion
     ) {
-        this.suggestions.put(key, suggestion);
+        put(key, suggestion);
     }
 
     public void register(
@@ -56,7 +65,7 @@ public final class SuggestionRegistry<S, ST> implements Registry {
             final @NotNull SuggestionMethod method,
             final @NotNull SuggestionMapper<ST> suggestionMapper
     ) {
-        this.suggestions.put(key, new SimpleSuggestion<>(new SimpleSuggestionHolder.SimpleResolver<>(resolver, suggestionMapper), suggestionMapper, method));
+        put(key, new SimpleSuggestion<>(new SimpleSuggestionHolder.SimpleResolver<>(resolver, suggestionMapper), suggestionMapper, method));
     }
 
     public void registerRich(
@@ -65,7 +74,29 @@ public final class SuggestionRegistry<S, ST> implements Registry {
             final @NotNull SuggestionMethod method,
             final @NotNull SuggestionMapper<ST> suggestionMapper
     ) {
-        this.suggestions.put(key, new SimpleSuggestion<>(new SimpleSuggestionHolder.RichResolver<>(resolver), suggestionMapper, method));
+        put(key, new SimpleSuggestion<>(new SimpleSuggestionHolder.RichResolver<>(resolver), suggestionMapper, method));
+    }
+
+    public void register(
+            final @NotNull SuggestionKey key,
+            final @NotNull SuggestionResolver.Simple<S> resolver,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper,
+            final @NotNull SuggestionCachePolicy cachePolicy
+    ) {
+        final CachedSuggestionHolder<S, ST> holder = new CachedSuggestionHolder<>(new SimpleSuggestionHolder.SimpleResolver<>(resolver, suggestionMapper), cachePolicy);
+        putCached(key, holder, new SimpleSuggestion<>(holder, suggestionMapper, method));
+    }
+
+    public void registerRich(
+            final @NotNull SuggestionKey key,
+            final @NotNull SuggestionResolver<S, ST> resolver,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper,
+            final @NotNull SuggestionCachePolicy cachePolicy
+    ) {
+        final CachedSuggestionHolder<S, ST> holder = new CachedSuggestionHolder<>(new SimpleSuggestionHolder.RichResolver<>(resolver), cachePolicy);
+        putCached(key, holder, new SimpleSuggestion<>(holder, suggestionMapper, method));
     }
 
     public void registerStatic(
@@ -74,7 +105,7 @@ public final class SuggestionRegistry<S, ST> implements Registry {
             final @NotNull SuggestionMethod method,
             final @NotNull SuggestionMapper<ST> suggestionMapper
     ) {
-        this.suggestions.put(key, new StaticSuggestion<>(new SimpleSuggestionHolder.SimpleStatic<>(suggestions, suggestionMapper.map(suggestions)), suggestionMapper, method));
+        put(key, new StaticSuggestion<>(new SimpleSuggestionHolder.SimpleStatic<>(suggestions, suggestionMapper.map(suggestions)), suggestionMapper, method));
     }
 
     public void registerStaticRich(
@@ -83,7 +114,7 @@ public final class SuggestionRegistry<S, ST> implements Registry {
             final @NotNull SuggestionMethod method,
             final @NotNull SuggestionMapper<ST> suggestionMapper
     ) {
-        this.suggestions.put(key, new StaticSuggestion<>(new SimpleSuggestionHolder.RichStatic<>(suggestions, suggestionMapper.mapBackwards(suggestions)), suggestionMapper, method));
+        put(key, new StaticSuggestion<>(new SimpleSuggestionHolder.RichStatic<>(suggestions, suggestionMapper.mapBackwards(suggestions)), suggestionMapper, method));
     }
 
     public void register(
@@ -92,7 +123,7 @@ public final class SuggestionRegistry<S, ST> implements Registry {
             final @NotNull SuggestionMethod method,
             final @NotNull SuggestionMapper<ST> suggestionMapper
     ) {
-        this.typeSuggestions.put(type, new SimpleSuggestion<>(new SimpleSuggestionHolder.SimpleResolver<>(resolver, suggestionMapper), suggestionMapper, method));
+        put(type, new SimpleSuggestion<>(new SimpleSuggestionHolder.SimpleResolver<>(resolver, suggestionMapper), suggestionMapper, method));
     }
 
     public void registerRich(
@@ -101,7 +132,197 @@ public final class SuggestionRegistry<S, ST> implements Registry {
             final @NotNull SuggestionMethod method,
             final @NotNull SuggestionMapper<ST> suggestionMapper
     ) {
-        this.typeSuggestions.put(type, new SimpleSuggestion<>(new SimpleSuggestionHolder.RichResolver<>(resolver), suggestionMapper, method));
+        put(type, new SimpleSuggestion<>(new SimpleSuggestionHolder.RichResolver<>(resolver), suggestionMapper, method));
+    }
+
+    public void register(
+            final @NotNull Class<?> type,
+            final @NotNull SuggestionResolver.Simple<S> resolver,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper,
+            final @NotNull SuggestionCachePolicy cachePolicy
+    ) {
+        final CachedSuggestionHolder<S, ST> holder = new CachedSuggestionHolder<>(new SimpleSuggestionHolder.SimpleResolver<>(resolver, suggestionMapper), cachePolicy);
+        putCached(type, holder, new SimpleSuggestion<>(holder, suggestionMapper, method));
+    }
+
+    public void registerRich(
+            final @NotNull Class<?> type,
+            final @NotNull SuggestionResolver<S, ST> resolver,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper,
+            final @NotNull SuggestionCachePolicy cachePolicy
+    ) {
+        final CachedSuggestionHolder<S, ST> holder = new CachedSuggestionHolder<>(new SimpleSuggestionHolder.RichResolver<>(resolver), cachePolicy);
+        putCached(type, holder, new SimpleSuggestion<>(holder, suggestionMapper, method));
+    }
+
+    public void registerDictionary(
+            final @NotNull SuggestionKey key,
+            final @NotNull SuggestionDictionary dictionary,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper
+    ) {
+        put(key, new DictionarySuggestion<>(dictionary, suggestionMapper, method));
+    }
+
+    public void registerDictionary(
+            final @NotNull Class<?> type,
+            final @NotNull SuggestionDictionary dictionary,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper
+    ) {
+        put(type, new DictionarySuggestion<>(dictionary, suggestionMapper, method));
+    }
+
+    public void registerDictionary(
+            final @NotNull SuggestionKey key,
+            final @NotNull MappedSuggestionDictionary dictionary,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper
+    ) {
+        put(key, new MappedDictionarySuggestion<>(dictionary, suggestionMapper, method));
+    }
+
+    public void registerDictionary(
+            final @NotNull Class<?> type,
+            final @NotNull MappedSuggestionDictionary dictionary,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper
+    ) {
+        put(type, new MappedDictionarySuggestion<>(dictionary, suggestionMapper, method));
+    }
+
+    public void registerAsync(
+            final @NotNull SuggestionKey key,
+            final @NotNull AsyncSuggestionResolver.Simple<S> resolver,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper
+    ) {
+        put(key, new AsyncSuggestion<>(mapped(resolver, suggestionMapper), suggestionMapper, method));
+    }
+
+    public void registerAsyncRich(
+            final @NotNull SuggestionKey key,
+            final @NotNull AsyncSuggestionResolver<S, ST> resolver,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper
+    ) {
+        put(key, new AsyncSuggestion<>(resolver, suggestionMapper, method));
+    }
+
+    public void registerAsync(
+            final @NotNull Class<?> type,
+            final @NotNull AsyncSuggestionResolver.Simple<S> resolver,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper
+    ) {
+        put(type, new AsyncSuggestion<>(mapped(resolver, suggestionMapper), suggestionMapper, method));
+    }
+
+    public void registerAsyncRich(
+            final @NotNull Class<?> type,
+            final @NotNull AsyncSuggestionResolver<S, ST> resolver,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper
+    ) {
+        put(type, new AsyncSuggestion<>(resolver, suggestionMapper, method));
+    }
+
+    public void registerComposite(
+            final @NotNull SuggestionKey key,
+            final @NotNull SuggestionSources sources,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper
+    ) {
+        put(key, new CompositeSuggestion<>(resolveSources(sources), sources, suggestionMapper, method));
+    }
+
+    public void registerComposite(
+            final @NotNull Class<?> type,
+            final @NotNull SuggestionSources sources,
+            final @NotNull SuggestionMethod method,
+            final @NotNull SuggestionMapper<ST> suggestionMapper
+    ) {
+        put(type, new CompositeSuggestion<>(resolveSources(sources), sources, suggestionMapper, method));
+    }
+
+    /**
+     * Clears the cached results of the suggestion registered with the key, if it's cached.
+     *
+     * @param key The key of the suggestion.
+     */
+    public void invalidate(final @NotNull SuggestionKey key) {
+        final CachedSuggestionHolder<S, ST> holder = cachedSuggestions.get(key);
+        if (holder != null) holder.invalidate();
+    }
+
+    /**
+     * Clears the cached results of the suggestion registered for the type, if it's cached.
+     *
+     * @param type The type of the suggestion.
+     */
+    public void invalidate(final @NotNull Class<?> type) {
+        final CachedSuggestionHolder<S, ST> holder = cachedTypeSuggestions.get(type);
+        if (holder != null) holder.invalidate();
+    }
+
+    /**
+     * Clears all the results cached for the sender, for example when they leave.
+     *
+     * @param sender The sender to clear.
+     */
+    public void invalidateSender(final @NotNull S sender) {
+        cachedSuggestions.values().forEach(holder -> holder.invalidate(sender));
+        cachedTypeSuggestions.values().forEach(holder -> holder.invalidate(sender));
+    }
+
+    /**
+     * Resolves the prefetchable suggestions for the sender in the background, for example when they join.
+     * Suggestions that already have live results for the sender are skipped.
+     * Cancelling the returned future, for example when the sender leaves, skips what didn't start yet,
+     * and what was already resolving doesn't stay cached for them.
+     *
+     * @param sender   The sender whose session started.
+     * @param executor The executor to resolve the suggestions on.
+     * @return A future completing once every suggestion was resolved.
+     */
+    public @NotNull CompletableFuture<Void> prefetch(final @NotNull S sender, final @NotNull Executor executor) {
+        final CompletableFuture<Void> session = new CompletableFuture<>();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (final CachedSuggestionHolder<S, ST> holder : cachedSuggestions.values()) {
+            if (holder.needsPrefetch(sender)) futures.add(CompletableFuture.runAsync(() -> prefetch(holder, sender, session), executor));
+        }
+
+        for (final CachedSuggestionHolder<S, ST> holder : cachedTypeSuggestions.values()) {
+            if (holder.needsPrefetch(sender)) futures.add(CompletableFuture.runAsync(() -> prefetch(holder, sender, session), executor));
+        }
+
+        if (futures.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            if (error != null) session.completeExceptionally(error);
+            else session.complete(null);
+        });
+        return PendingSuggestions.propagateCancellation(session, futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private void prefetch(
+            final @NotNull CachedSuggestionHolder<S, ST> holder,
+            final @NotNull S sender,
+            final @NotNull CompletableFuture<Void> session
+    ) {
+        holder.prefetch(sender);
+        // The session ended while resolving, so the entry may have been written after the sender was invalidated
+        if (session.isCancelled()) holder.invalidate(sender);
+    }
+
+    /**
+     * Clears every cached suggestion result.
+     */
+    public void invalidateAll() {
+        cachedSuggestions.values().forEach(CachedSuggestionHolder::invalidate);
+        cachedTypeSuggestions.values().forEach(CachedSuggestionHolder::invalidate);
     }
 
     @Contract("null -> null")
@@ -113,4 +334,65 @@ public final class SuggestionRegistry<S, ST> implements Registry {
     public @Nullable InternalSuggestion<S, ST> getSuggestion(final @NotNull Class<?> type) {
         return this.typeSuggestions.get(type);
     }
+
+    private void put(final @NotNull SuggestionKey key, final @NotNull InternalSuggestion<S, ST> suggestion) {
+        // A re-registered key is no longer cached, its old holder must not be invalidated or prefetched anymore
+        this.cachedSuggestions.remove(key);
+        this.suggestions.put(key, suggestion);
+    }
+
+    private void put(final @NotNull Class<?> type, final @NotNull InternalSuggestion<S, ST> suggestion) {
+        this.cachedTypeSuggestions.remove(type);
+        this.typeSuggestions.put(type, suggestion);
+    }
+
+    private void putCached(
+            final @NotNull SuggestionKey key,
+            final @NotNull CachedSuggestionHolder<S, ST> holder,
+            final @NotNull InternalSuggestion<S, ST> suggestion
+    ) {
+        this.cachedSuggestions.put(key, holder);
+        this.suggestions.put(key, suggestion);
+    }
+
+    private void putCached(
+            final @NotNull Class<?> type,
+            final @NotNull CachedSuggestionHolder<S, ST> holder,
+            final @NotNull InternalSuggestion<S, ST> suggestion
+    ) {
+        this.cachedTypeSuggestions.put(type, holder);
+        this.typeSuggestions.put(type, suggestion);
+    }
+
+    private @NotNull List<InternalSuggestion<S, ST>> resolveSources(final @NotNull SuggestionSources sources) {
+        final List<InternalSuggestion<S, ST>> resolved = new ArrayList<>();
+        for (final SuggestionSources.Source source : sources.getSources()) {
+            final InternalSuggestion<S, ST> suggestion = this.suggestions.get(source.getKey());
+            if (suggestion == null) {
+                throw new CommandRegistrationException("Could not find Suggestion Key \"" + source.getKey().getKey() + "\" used by a composite suggestion");
+            }
+
+            resolved.add(suggestion);
+        }
+        return resolved;
+    }
+
+    private static <S, ST> @NotNull AsyncSuggestionResolver<S, ST> mapped(
+            final @NotNull AsyncSuggestionResolver.Simple<S> resolver,
+            final @NotNull SuggestionMapper<ST> suggestionMapper
+    ) {
+        return new AsyncSuggestionResolver<S, ST>() {
+            @Override
+            public @NotNull CompletionStage<List<ST>> resolve(final @NotNull SuggestionContext<S> context) {
+                final CompletableFuture<List<String>> resolved = resolver.resolve(context).toCompletableFuture();
+                final CompletableFuture<List<ST>> mapped = resolved.thenApply(suggestionMapper::map);
+                return resolver.isCancellable() ? PendingSuggestions.propagateCancellation(mapped, resolved) : mapped;
+            }
+
+            @Override
+            public boolean isCancellable() {
+                return resolver.isCancellable();
+            }
+        };
+    }
 }
@@ -0,0 +1,172 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Describes the suggestions a composite suggestion merges, and how long each of them can take.
+ * A source that misses its deadline contributes the last values it returned to the sender, or nothing.
+ */
+public final class SuggestionSources {
+
+    private final List<Source> sources;
+    private final Executor executor;
+
+    private SuggestionSources(final @NotNull List<Source> sources, final @NotNull Executor executor) {
+        this.sources = Collections.unmodifiableList(sources);
+        this.executor = executor;
+    }
+
+    @Contract(" -> new")
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The sources, in order of priority.
+     */
+    public @NotNull List<Source> getSources() {
+        return sources;
+    }
+
+    /**
+     * @return The executor synchronous sources are resolved on.
+     */
+    public @NotNull Executor getExecutor() {
+        return executor;
+    }
+
+    public static final class Source {
+
+        private final SuggestionKey key;
+        private final Duration deadline;
+
+        private Source(final @NotNull SuggestionKey key, final @NotNull Duration deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+
+        public @NotNull SuggestionKey getKey() {
+            return key;
+        }
+
+        public @NotNull Duration getDeadline() {
+            return deadline;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "Source{" +
+                    "key=" + key +
+                    ", deadline=" + deadline +
+                    '}';
+        }
+    }
+
+    public static final class Builder {
+
+        private final List<SuggestionKey> keys = new ArrayList<>();
+        private final List<Duration> deadlines = new ArrayList<>();
+        private Duration deadline = Duration.ofMillis(100);
+        private Executor executor = ForkJoinPool.commonPool();
+
+        /**
+         * Adds a source using the default deadline.
+         * Sources added first rank higher when merging.
+         *
+         * @param key The {@link SuggestionKey} of a registered suggestion.
+         * @return This builder.
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder source(final @NotNull SuggestionKey key) {
+            return source(key, null);
+        }
+
+        /**
+         * Adds a source with its own deadline.
+         * Sources added first rank higher when merging.
+         *
+         * @param key      The {@link SuggestionKey} of a registered suggestion.
+         * @param deadline How long the source has to respond, or null to use the default one.
+         * @return This builder.
+         */
+        @Contract("_, _ -> this")
+        public @NotNull Builder source(final @NotNull SuggestionKey key, final @Nullable Duration deadline) {
+            this.keys.add(key);
+            this.deadlines.add(deadline);
+            return this;
+        }
+
+        /**
+         * Sets the deadline of the sources that don't have their own, defaults to 100 milliseconds.
+         *
+         * @param deadline How long a source has to respond.
+         * @return This builder.
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder deadline(final @NotNull Duration deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
+        /**
+         * Sets the executor synchronous sources are resolved on, defaults to the common pool.
+         *
+         * @param executor The {@link Executor} to use.
+         * @return This builder.
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder executor(final @NotNull Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        @Contract(" -> new")
+        public @NotNull SuggestionSources build() {
+            if (keys.isEmpty()) throw new IllegalArgumentException("Composite suggestions need at least one source.");
+
+            final List<Source> sources = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                final Duration sourceDeadline = deadlines.get(i) == null ? deadline : deadlines.get(i);
+                if (sourceDeadline.isNegative() || sourceDeadline.isZero()) {
+                    throw new IllegalArgumentException("Deadline of source '" + keys.get(i).getKey() + "' must be positive.");
+                }
+
+                sources.add(new Source(keys.get(i), sourceDeadline));
+            }
+
+            return new SuggestionSources(sources, executor);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Splits a raw command line into tokens in a single pass.
+ * Tokens are kept as slices of the original line, with quotes and escapes only being removed when a value is requested.
+ * An escape character only escapes whitespace, quotes and itself, anything else is kept as typed, so keyed arguments can still do their own escaping.
+ */
+public final class CommandLexer {
+
+    private static final CommandLexer DEFAULT = new Builder().build();
+
+    private final char[] whitespace;
+    private final char[] quotes;
+    private final char escape;
+
+    private CommandLexer(final @NotNull Builder builder) {
+        this.whitespace = builder.whitespace;
+        this.quotes = builder.quotes;
+        this.escape = builder.escape;
+    }
+
+    /**
+     * The default lexer, splits on spaces, uses single and double quotes and {@code \} as the escape.
+     *
+     * @return The default {@link CommandLexer}.
+     */
+    public static @NotNull CommandLexer defaultLexer() {
+        return DEFAULT;
+    }
+
+    @Contract(" -> new")
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Tokenizes the given command line.
+     *
+     * @param line The raw command line.
+     * @return The {@link CommandLine} containing the token slices.
+     */
+    public @NotNull CommandLine lex(final @NotNull String line) {
+        final int length = line.length();
+        // A line can never have more than half its length plus one tokens
+        final int[] bounds = new int[((length + 1) / 2 + 1) * 2];
+        final boolean[] plain = new boolean[bounds.length / 2];
+
+        int count = 0;
+        int start = -1;
+        boolean isPlain = true;
+        boolean escaping = false;
+        char quote = 0;
+
+        for (int i = 0; i < length; i++) {
+            final char current = line.charAt(i);
+
+            if (start == -1) {
+                if (isWhitespace(current)) continue;
+                start = i;
+                isPlain = true;
+            }
+
+            if (escaping) {
+                escaping = false;
+                continue;
+            }
+
+            if (current == escape && i + 1 < length && isEscapable(line.charAt(i + 1), quote)) {
+                escaping = true;
+                isPlain = false;
+                continue;
+            }
+
+            if (quote != 0) {
+                if (current == quote) quote = 0;
+                continue;
+            }
+
+            if (isQuote(current)) {
+                quote = current;
+                isPlain = false;
+                continue;
+            }
+
+            if (!isWhitespace(current)) continue;
+
+            bounds[count * 2] = start;
+            bounds[count * 2 + 1] = i;
+            plain[count++] = isPlain;
+            start = -1;
+        }
+
+        if (start != -1) {
+            bounds[count * 2] = start;
+            bounds[count * 2 + 1] = length;
+            plain[count++] = isPlain;
+        }
+
+        return new CommandLine(this, line, bounds, plain, count, quote != 0);
+    }
+
+    /**
+     * Removes the quotes and escapes from a slice of the line.
+     */
+    @NotNull String unquote(final @NotNull String line, final int start, final int end) {
+        final StringBuilder builder = new StringBuilder(end - start);
+        char quote = 0;
+
+        for (int i = start; i < end; i++) {
+            final char current = line.charAt(i);
+
+            if (current == escape && i + 1 < end && isEscapable(line.charAt(i + 1), quote)) {
+                builder.append(line.charAt(++i));
+                continue;
+            }
+
+            if (quote != 0) {
+                if (current == quote) quote = 0;
+                else builder.append(current);
+                continue;
+            }
+
+            if (isQuote(current)) {
+                quote = current;
+                continue;
+            }
+
+            builder.append(current);
+        }
+
+        return builder.toString();
+    }
+
+    private boolean isEscapable(final char character, final char quote) {
+        if (character == escape) return true;
+        if (quote != 0) return character == quote;
+        return isQuote(character) || isWhitespace(character);
+    }
+
+    private boolean isWhitespace(final char character) {
+        for (final char value : whitespace) {
+            if (value == character) return true;
+        }
+        return false;
+    }
+
+    private boolean isQuote(final char character) {
+        for (final char value : quotes) {
+            if (value == character) return true;
+        }
+        return false;
+    }
+
+    public static final class Builder {
+
+        private char[] whitespace = {' '};
+        private char[] quotes = {'"', '\''};
+        private char escape = '\\';
+
+        /**
+         * Sets the characters that separate tokens.
+         *
+         * @param whitespace The separator characters.
+         * @return This builder.
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder whitespace(final char @NotNull ... whitespace) {
+            if (whitespace.length == 0) throw new IllegalArgumentException("At least one whitespace character is required.");
+            this.whitespace = whitespace.clone();
+            return this;
+        }
+
+        /**
+         * Sets the characters that can open and close a quoted section, pass none to disable quoting.
+         *
+         * @param quotes The quote characters.
+         * @return This builder.
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder quotes(final char @NotNull ... quotes) {
+            this.quotes = quotes.clone();
+            return this;
+        }
+
+        /**
+         * Sets the escape character.
+         *
+         * @param escape The escape character.
+         * @return This builder.
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder escape(final char escape) {
+            this.escape = escape;
+            return this;
+        }
+
+        @Contract(" -> new")
+        public @NotNull CommandLexer build() {
+            return new CommandLexer(this);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The result of lexing a command line with a {@link CommandLexer}.
+ * Tokens are stored as start and end positions in the original line, so no strings are created until a value is requested.
+ */
+public final class CommandLine {
+
+    private final CommandLexer lexer;
+    private final String line;
+    // Start and end of each token, end is exclusive
+    private final int[] bounds;
+    // Whether the token has no quotes or escapes, so it can be used as is
+    private final boolean[] plain;
+    private final int size;
+    private final boolean unterminatedQuote;
+
+    // Token index for every cursor position, only created when needed
+    private int[] cursorIndex = null;
+
+    CommandLine(
+            final @NotNull CommandLexer lexer,
+            final @NotNull String line,
+            final int @NotNull [] bounds,
+            final boolean @NotNull [] plain,
+            final int size,
+            final boolean unterminatedQuote
+    ) {
+        this.lexer = lexer;
+        this.line = line;
+        this.bounds = bounds;
+        this.plain = plain;
+        this.size = size;
+        this.unterminatedQuote = unterminatedQuote;
+    }
+
+    /**
+     * @return The raw line that was lexed.
+     */
+    public @NotNull String getLine() {
+        return line;
+    }
+
+    /**
+     * @return The amount of tokens in the line.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return Whether the line ended while a quote was still open.
+     */
+    public boolean hasUnterminatedQuote() {
+        return unterminatedQuote;
+    }
+
+    /**
+     * @return Whether the line ends with a separator, meaning the next token has not been started yet.
+     */
+    public boolean endsWithSeparator() {
+        return size == 0 ? !line.isEmpty() : end(size - 1) < line.length();
+    }
+
+    /**
+     * @param index The index of the token.
+     * @return The position in the line where the token starts.
+     */
+    public int start(final int index) {
+        checkIndex(index);
+        return bounds[index * 2];
+    }
+
+    /**
+     * @param index The index of the token.
+     * @return The position in the line right after the token ends.
+     */
+    public int end(final int index) {
+        checkIndex(index);
+        return bounds[index * 2 + 1];
+    }
+
+    /**
+     * Gets the token exactly as typed, including quotes and escapes.
+     *
+     * @param index The index of the token.
+     * @return The raw token.
+     */
+    public @NotNull String raw(final int index) {
+        return line.substring(start(index), end(index));
+    }
+
+    /**
+     * Gets the value of the token, with its quotes and escapes removed.
+     *
+     * @param index The index of the token.
+     * @return The value of the token.
+     */
+    public @NotNull String get(final int index) {
+        final int start = start(index);
+        final int end = end(index);
+        if (plain[index]) return line.substring(start, end);
+        return lexer.unquote(line, start, end);
+    }
+
+    /**
+     * Finds which token the cursor is in, a cursor touching the end of a token counts as being in it.
+     * The lookup table is built on the first call, so every lookup after it is constant time.
+     *
+     * @param cursor The cursor position, from 0 to the length of the line.
+     * @return The index of the token, or {@code -(index + 1)} with the index a new token would take if the cursor is not in one.
+     */
+    public int tokenAt(final int cursor) {
+        if (cursor < 0 || cursor > line.length()) {
+            throw new IndexOutOfBoundsException("Cursor " + cursor + " is outside of the line.");
+        }
+
+        if (cursorIndex == null) cursorIndex = createCursorIndex();
+        return cursorIndex[cursor];
+    }
+
+    /**
+     * Creates a {@link Deque} with the values of the tokens starting from the given index.
+     *
+     * @param from The index of the first token.
+     * @return A new {@link Deque} with the values.
+     */
+    public @NotNull Deque<String> toDeque(final int from) {
+        final Deque<String> deque = new ArrayDeque<>(Math.max(size - from, 1));
+        for (int i = from; i < size; i++) {
+            deque.add(get(i));
+        }
+        return deque;
+    }
+
+    /**
+     * @return A new {@link List} with the values of all the tokens.
+     */
+    public @NotNull List<String> toList() {
+        final List<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    private int @NotNull [] createCursorIndex() {
+        final int[] index = new int[line.length() + 1];
+        int token = 0;
+
+        for (int cursor = 0; cursor < index.length; cursor++) {
+            while (token < size && bounds[token * 2 + 1] < cursor) token++;
+
+            if (token < size && bounds[token * 2] <= cursor) {
+                index[cursor] = token;
+                continue;
+            }
+
+            index[cursor] = -(token + 1);
+        }
+
+        return index;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for " + size + " tokens.");
+        }
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "CommandLine{" +
+                "line='" + line + '\'' +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core;
+
+import dev.triumphteam.cmd.core.command.InternalRootCommand;
+import dev.triumphteam.cmd.core.extension.CommandOptions;
+import dev.triumphteam.cmd.core.extension.defaults.DefaultArgumentValidator;
+import dev.triumphteam.cmd.core.extension.defaults.DefaultCommandExecutor;
+import dev.triumphteam.cmd.core.extension.defaults.DefaultSuggestionMapper;
+import dev.triumphteam.cmd.core.extension.registry.RegistryContainer;
+import dev.triumphteam.cmd.core.extension.sender.SenderExtension;
+import dev.triumphteam.cmd.core.processor.RootCommandProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bare command manager for tests, senders are plain strings and commands are reached directly.
+ */
+public final class TestCommandManager extends CommandManager<TestCommandManager, TestCommandManager.Options, String, String, String> {
+
+    private final Map<String, InternalRootCommand<String, String, String>> commands = new HashMap<>();
+
+    private TestCommandManager(final @NotNull Options options) {
+        super(options, new RegistryContainer<>());
+    }
+
+    public static @NotNull TestCommandManager create() {
+        return new TestCommandManager(new Options(new OptionsBuilder()));
+    }
+
+    @Override
+    protected @NotNull TestCommandManager getThis() {
+        return this;
+    }
+
+    @Override
+    public void registerCommand(final @NotNull Object command) {
+        final RootCommandProcessor<String, String, String> processor = new RootCommandProcessor<>(
+                command,
+                getRegistryContainer(),
+                getCommandOptions()
+        );
+
+        final InternalRootCommand<String, String, String> rootCommand = commands.computeIfAbsent(processor.getName(), it -> new InternalRootCommand<>(processor));
+        rootCommand.addCommands(command, processor.commands(rootCommand));
+    }
+
+    @Override
+    public void unregisterCommand(final @NotNull Object command) {
+        throw new UnsupportedOperationException();
+    }
+
+    public @Nullable InternalRootCommand<String, String, String> getCommand(final @NotNull String name) {
+        return commands.get(name);
+    }
+
+    public static final class Options extends CommandOptions<Options, TestCommandManager, String, String, String> {
+
+        private Options(final @NotNull OptionsBuilder builder) {
+            super(new Senders(), builder);
+        }
+    }
+
+    public static final class OptionsBuilder extends CommandOptions.Builder<OptionsBuilder, TestCommandManager, Options, String, String, String> {
+
+        private OptionsBuilder() {
+            extensions(extension -> {
+                extension.setArgumentValidator(new DefaultArgumentValidator<>());
+                extension.setCommandExecutor(new DefaultCommandExecutor<>());
+                extension.setSuggestionMapper(new DefaultSuggestionMapper());
+            });
+        }
+
+        @Override
+        protected @NotNull OptionsBuilder getThis() {
+            return this;
+        }
+    }
+
+    private static final class Senders implements SenderExtension.Default<String> {
+
+        @Override
+        public @NotNull Set<Class<? extends String>> getAllowedSenders() {
+            return Collections.singleton(String.class);
+        }
+    }
+}
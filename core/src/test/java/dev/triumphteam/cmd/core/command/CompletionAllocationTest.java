@@ -0,0 +1,90 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.command;
+
+import dev.triumphteam.cmd.core.TestCommandManager;
+import dev.triumphteam.cmd.core.annotations.Command;
+import dev.triumphteam.cmd.core.annotations.Suggestion;
+import dev.triumphteam.cmd.core.suggestion.SuggestionKey;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Synchronous tab completion reuses per-thread buffers, so a static completion should only allocate its returned list.
+ */
+final class CompletionAllocationTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 100_000;
+
+    // About 70 bytes are the returned list, anything close to the old ~400 means the buffers stopped being reused
+    private static final long MAX_BYTES_PER_COMPLETION = 200;
+
+    @Test
+    void staticCompletionOnlyAllocatesTheResult() {
+        final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads instanceof com.sun.management.ThreadMXBean, "Per-thread allocation counting is not available");
+
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        Assumptions.assumeTrue(allocations.isThreadAllocatedMemorySupported(), "Per-thread allocation counting is not supported");
+        allocations.setThreadAllocatedMemoryEnabled(true);
+
+        final TestCommandManager manager = TestCommandManager.create();
+        manager.registerStaticSuggestion(SuggestionKey.of("items"), Arrays.asList("alpha", "beta", "gamma", "alps"));
+        manager.registerCommand(new PickCommand());
+
+        final InternalRootCommand<String, String, String> root = manager.getCommand("pick");
+        assertNotNull(root);
+
+        final String[] arguments = {"item", "al"};
+        assertEquals(Arrays.asList("alpha", "alps"), root.suggestions("sender", arguments));
+
+        // Lets the JIT settle, so only steady state allocations are measured
+        for (int i = 0; i < WARMUP; i++) root.suggestions("sender", arguments);
+
+        final long thread = Thread.currentThread().getId();
+        final long before = allocations.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) root.suggestions("sender", arguments);
+        final long perCompletion = (allocations.getThreadAllocatedBytes(thread) - before) / ITERATIONS;
+
+        assertTrue(
+                perCompletion <= MAX_BYTES_PER_COMPLETION,
+                "A static completion allocated " + perCompletion + " bytes, expected at most " + MAX_BYTES_PER_COMPLETION
+        );
+    }
+
+    @Command("pick")
+    static final class PickCommand {
+
+        @Command("item")
+        public void item(final String sender, final @Suggestion("items") String item) {}
+    }
+}
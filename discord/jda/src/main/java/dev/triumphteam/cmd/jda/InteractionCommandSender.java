@@ -24,6 +24,7 @@
 package dev.triumphteam.cmd.jda;
 
 import dev.triumphteam.cmd.jda.sender.CommandSender;
+import dev.triumphteam.cmd.jda.sender.Sender;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.MessageEmbed;
@@ -141,4 +142,24 @@ final class InteractionCommandSender implements CommandSender {
     public @NotNull ReplyCallbackAction deferReply(final boolean ephemeral) {
         return event.deferReply(ephemeral);
     }
+
+    /**
+     * Senders are equal when they're the same user in the same guild, so per sender caches survive across interactions.
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Sender)) return false;
+        final Sender other = (Sender) o;
+        return getUser().getIdLong() == other.getUser().getIdLong() && guildId(getGuild()) == guildId(other.getGuild());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(getUser().getIdLong()) + Long.hashCode(guildId(getGuild()));
+    }
+
+    private static long guildId(final @Nullable Guild guild) {
+        return guild == null ? 0 : guild.getIdLong();
+    }
 }
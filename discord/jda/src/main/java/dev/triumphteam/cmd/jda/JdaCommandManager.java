@@ -34,6 +34,7 @@ import dev.triumphteam.cmd.core.extension.registry.RegistryContainer;
 import dev.triumphteam.cmd.core.extension.sender.SenderExtension;
 import dev.triumphteam.cmd.core.message.MessageKey;
 import dev.triumphteam.cmd.core.processor.RootCommandProcessor;
+import dev.triumphteam.cmd.core.suggestion.PendingSuggestions;
 import dev.triumphteam.cmd.discord.LeafResult;
 import dev.triumphteam.cmd.discord.ProvidedInternalArgument;
 import dev.triumphteam.cmd.jda.annotation.Defer;
@@ -54,17 +55,26 @@ import net.dv8tion.jda.api.interactions.AutoCompleteQuery;
 import net.dv8tion.jda.api.interactions.commands.Command;
 import net.dv8tion.jda.api.interactions.commands.CommandInteractionPayload;
 import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -79,11 +89,23 @@ import static dev.triumphteam.cmd.discord.DiscordCommandUtil.findExecutable;
  */
 public final class JdaCommandManager<S> extends CommandManager<JdaCommandManager<S>, JdaCommandOptions<S>, Sender, S, Command.Choice> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdaCommandManager.class);
+
+    // Discord has no session events, a member's session starts with their first interaction and ends once they're idle this long
+    private static final long SESSION_IDLE = TimeUnit.MINUTES.toNanos(15);
+    // How often idle sessions are looked for
+    private static final long SESSION_SWEEP = TimeUnit.MINUTES.toNanos(1);
+
     private final JDA jda;
 
     private final Map<String, InternalRootCommand<Sender, S, Command.Choice>> globalCommands = new HashMap<>();
     private final Map<Long, Map<String, InternalRootCommand<Sender, S, Command.Choice>>> guildCommands = new HashMap<>();
 
+    private final PendingSuggestions<S> pendingSuggestions = new PendingSuggestions<>();
+
+    private final Map<S, Session> sessions = new HashMap<>();
+    private long lastSweep = System.nanoTime();
+
     private JdaCommandManager(
             final @NotNull JDA jda,
             final @NotNull JdaCommandOptions<S> commandOptions,
@@ -188,6 +210,8 @@ public final class JdaCommandManager<S> extends CommandManager<JdaCommandManager
         final SenderExtension<Sender, S> senderExtension = getCommandOptions().getCommandExtensions().getSenderExtension();
         final S sender = senderExtension.map(new InteractionCommandSender(event));
 
+        touchSession(sender);
+
         final LeafResult<Sender, S, Command.Choice> result = findExecutable(sender, getAppropriateMap(event), commands, true);
         if (result == null) return;
 
@@ -218,6 +242,8 @@ public final class JdaCommandManager<S> extends CommandManager<JdaCommandManager
         final SenderExtension<Sender, S> senderExtension = getCommandOptions().getCommandExtensions().getSenderExtension();
         final S sender = senderExtension.map(new SuggestionCommandSender(event));
 
+        touchSession(sender);
+
         final LeafResult<Sender, S, Command.Choice> result = findExecutable(sender, getAppropriateMap(event), commands, true);
         if (result == null) return;
 
@@ -228,12 +254,56 @@ public final class JdaCommandManager<S> extends CommandManager<JdaCommandManager
         final InternalArgument<S, Command.Choice> argument = result.getCommand().getArgument(option.getName());
         if (argument == null) return;
 
-        final List<Command.Choice> suggestions = argument.suggestions(sender, option.getValue(), arguments, Collections.emptyMap())
-                .stream()
-                .limit(25) // Discord only handles 25 at a time, :pensive:.
-                .collect(Collectors.toList());
+        // Discord only handles 25 at a time, :pensive:.
+        // Stale requests of the member are cancelled and never replied to, Discord already dropped them
+        pendingSuggestions.track(sender, argument.suggestionsAsync(sender, option.getValue(), arguments, Collections.emptyMap(), OptionData.MAX_CHOICES))
+                .whenComplete((suggestions, error) -> {
+                    if (error == null) {
+                        event.replyChoices(suggestions).queue();
+                        return;
+                    }
+
+                    // Replaced by a newer request of the member, which is expected
+                    final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof CancellationException) return;
+
+                    LOGGER.error("Failed to suggest choices for option '{}' of '{}'", option.getName(), event.getFullCommandName(), cause);
+                });
+    }
 
-        event.replyChoices(suggestions).queue();
+    /**
+     * Starts the member's session on their first interaction, prefetching their suggestions,
+     * and ends the sessions of members that have been idle for too long.
+     *
+     * @param sender The member interacting.
+     */
+    private void touchSession(final @NotNull S sender) {
+        final long now = System.nanoTime();
+        final List<Map.Entry<S, Session>> ended = new ArrayList<>();
+        synchronized (sessions) {
+            final Session session = sessions.get(sender);
+            if (session != null) session.lastSeen = now;
+            else sessions.put(sender, new Session(now, prefetchSuggestions(sender)));
+
+            if (now - lastSweep >= SESSION_SWEEP) {
+                lastSweep = now;
+                final Iterator<Map.Entry<S, Session>> iterator = sessions.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    final Map.Entry<S, Session> entry = iterator.next();
+                    if (now - entry.getValue().lastSeen < SESSION_IDLE) continue;
+                    ended.add(entry);
+                    iterator.remove();
+                }
+            }
+        }
+
+        for (final Map.Entry<S, Session> entry : ended) {
+            final S member = entry.getKey();
+            entry.getValue().prefetch.cancel(true);
+            pendingSuggestions.cancel(member);
+            invalidateSenderSuggestions(member);
+            invalidateSenderRequirements(member);
+        }
     }
 
     @Override
@@ -331,4 +401,15 @@ public final class JdaCommandManager<S> extends CommandManager<JdaCommandManager
         if (guild == null) return Collections.emptyMap();
         return guildCommands.getOrDefault(guild.getIdLong(), Collections.emptyMap());
     }
+
+    private static final class Session {
+
+        private final CompletableFuture<Void> prefetch;
+        private long lastSeen;
+
+        private Session(final long lastSeen, final @NotNull CompletableFuture<Void> prefetch) {
+            this.lastSeen = lastSeen;
+            this.prefetch = prefetch;
+        }
+    }
 }
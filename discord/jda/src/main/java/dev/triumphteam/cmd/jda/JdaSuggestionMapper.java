@@ -26,9 +26,11 @@ package dev.triumphteam.cmd.jda;
 import com.google.common.primitives.Doubles;
 import com.google.common.primitives.Longs;
 import dev.triumphteam.cmd.core.extension.SuggestionMapper;
+import dev.triumphteam.cmd.core.suggestion.FuzzyMatcher;
 import dev.triumphteam.cmd.core.suggestion.SuggestionMethod;
 import net.dv8tion.jda.api.interactions.commands.Command;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -52,15 +54,28 @@ final class JdaSuggestionMapper implements SuggestionMapper<Command.Choice> {
 
     @Override
     public @NotNull List<Command.Choice> filter(final @NotNull String input, final @NotNull List<Command.Choice> values, final SuggestionMethod method) {
+        return filter(input, values, method, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public @NotNull List<Command.Choice> filter(
+            final @NotNull String input,
+            final @NotNull List<Command.Choice> values,
+            final SuggestionMethod method,
+            final int limit
+    ) {
         switch (method) {
             case STARTS_WITH:
-                return values.stream().filter(it -> it.getName().toLowerCase().startsWith(input.toLowerCase())).collect(Collectors.toList());
+                return values.stream().filter(it -> it.getName().toLowerCase().startsWith(input.toLowerCase())).limit(limit).collect(Collectors.toList());
 
             case CONTAINS:
-                return values.stream().filter(it -> it.getName().toLowerCase().contains(input.toLowerCase())).collect(Collectors.toList());
+                return values.stream().filter(it -> it.getName().toLowerCase().contains(input.toLowerCase())).limit(limit).collect(Collectors.toList());
+
+            case FUZZY:
+                return FuzzyMatcher.filter(input, values, Command.Choice::getName, limit);
 
             default:
-                return values;
+                return values.size() <= limit ? values : values.subList(0, limit);
         }
     }
 
@@ -74,7 +89,7 @@ final class JdaSuggestionMapper implements SuggestionMapper<Command.Choice> {
             final @NotNull List<String> original,
             final @NotNull OptionType type
     ) {
-        final Stream<String> stream = original.stream().limit(25);
+        final Stream<String> stream = original.stream().limit(OptionData.MAX_CHOICES);
 
         switch (type) {
             case NUMBER:
@@ -106,4 +106,24 @@ final class SuggestionCommandSender implements Sender {
     public @NotNull ReplyCallbackAction deferReply(final boolean ephemeral) {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * Senders are equal when they're the same user in the same guild, so per sender caches survive across interactions.
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Sender)) return false;
+        final Sender other = (Sender) o;
+        return getUser().getIdLong() == other.getUser().getIdLong() && guildId(getGuild()) == guildId(other.getGuild());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(getUser().getIdLong()) + Long.hashCode(guildId(getGuild()));
+    }
+
+    private static long guildId(final @Nullable Guild guild) {
+        return guild == null ? 0 : guild.getIdLong();
+    }
 }
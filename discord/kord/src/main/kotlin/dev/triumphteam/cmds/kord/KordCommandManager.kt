@@ -65,6 +65,7 @@ import dev.triumphteam.cmd.discord.ProvidedInternalArgument
 import dev.triumphteam.cmd.discord.annotation.NSFW
 import dev.triumphteam.cmds.contains
 import dev.triumphteam.cmds.kord.sender.Sender
+import kotlinx.coroutines.future.await
 import kotlinx.coroutines.launch
 import java.lang.reflect.InvocationTargetException
 
@@ -247,11 +248,15 @@ public class KordCommandManager<S : Any> internal constructor(
 
         val suggestions = when (suggestion) {
             is InternalSuggestion.Simple -> {
-                suggestion.getSuggestions(sender, focused.value, arguments, argumentMap).take(25)
+                suggestion.getSuggestions(sender, focused.value, arguments, argumentMap, MAX_CHOICES)
             }
 
             is SuspendingInternalSuggestion -> {
-                suggestion.getSuggestions(sender, focused.value, arguments, argumentMap).take(25)
+                suggestion.getSuggestions(sender, focused.value, arguments, argumentMap, MAX_CHOICES)
+            }
+
+            is InternalSuggestion.Async -> {
+                suggestion.getSuggestionsAsync(sender, focused.value, arguments, argumentMap, MAX_CHOICES).await()
             }
 
             else -> return
@@ -30,6 +30,7 @@ import dev.kord.core.Kord
 import dev.triumphteam.cmd.core.extension.CommandOptions
 import dev.triumphteam.cmd.core.extension.SuggestionMapper
 import dev.triumphteam.cmd.core.extension.sender.SenderExtension
+import dev.triumphteam.cmd.core.suggestion.FuzzyMatcher
 import dev.triumphteam.cmd.core.suggestion.SuggestionMethod
 import dev.triumphteam.cmd.discord.NsfwProcessor
 import dev.triumphteam.cmd.discord.annotation.NSFW
@@ -79,11 +80,19 @@ public class KordCommandOptions<S : Any>(
             input: String,
             values: List<Choice>,
             method: SuggestionMethod,
+        ): List<Choice> = filter(input, values, method, Int.MAX_VALUE)
+
+        override fun filter(
+            input: String,
+            values: List<Choice>,
+            method: SuggestionMethod,
+            limit: Int,
         ): List<Choice> {
             return when (method) {
-                SuggestionMethod.STARTS_WITH -> values.filter { it.name.lowercase().startsWith(input.lowercase()) }
-                SuggestionMethod.CONTAINS -> values.filter { input.lowercase() in it.name.lowercase() }
-                else -> values
+                SuggestionMethod.STARTS_WITH -> values.asSequence().filter { it.name.lowercase().startsWith(input.lowercase()) }.take(limit).toList()
+                SuggestionMethod.CONTAINS -> values.asSequence().filter { input.lowercase() in it.name.lowercase() }.take(limit).toList()
+                SuggestionMethod.FUZZY -> FuzzyMatcher.filter(input, values, { it.name }, limit)
+                else -> values.take(limit)
             }
         }
 
@@ -91,8 +100,7 @@ public class KordCommandOptions<S : Any>(
 
         private fun List<String>.mapToChoices(type: Class<*>): List<Choice> {
             val kordType = type.kordType
-            // TODO(important): Make the limit a shared constant
-            val sequence = asSequence().take(25)
+            val sequence = asSequence().take(MAX_CHOICES)
 
             return when (kordType) {
                 is ApplicationCommandOptionType.Number -> {
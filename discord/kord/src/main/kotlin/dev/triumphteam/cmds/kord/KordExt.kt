@@ -55,6 +55,9 @@ import dev.triumphteam.cmds.kord.sender.Sender
 import java.util.ArrayDeque
 import java.util.Deque
 
+/** Discord only handles this many choices at a time. */
+internal const val MAX_CHOICES: Int = 25
+
 private val TYPE_MAPPING: Map<Class<*>, ApplicationCommandOptionType> = mapOf(
     Int::class.java to ApplicationCommandOptionType.Integer,
     Short::class.java to ApplicationCommandOptionType.Integer,
@@ -11,6 +11,7 @@ internal interface SuspendingInternalSuggestion<S : Any> : InternalSuggestion<S,
         current: String,
         arguments: List<String>,
         argumentsMap: Map<String, String>,
+        limit: Int,
     ): List<Choice>
 }
 
@@ -23,7 +24,8 @@ internal class SimpleSuspendingInternalSuggestion<S : Any>(
         current: String,
         arguments: List<String>,
         argumentsMap: Map<String, String>,
+        limit: Int,
     ): List<Choice> {
-        return resolver(SuggestionContext.of(current, sender, arguments, argumentsMap))
+        return resolver(SuggestionContext.of(current, sender, arguments, argumentsMap, "", limit)).take(limit)
     }
 }
@@ -0,0 +1,110 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.bukkit;
+
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandMap;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Serves the completions of our commands from Paper's {@link AsyncTabCompleteEvent}, so suggestions are resolved off the main thread.
+ * Anything that isn't handled here falls back to the synchronous {@link BukkitCommand#tabComplete}.
+ * Only registered when enabled through {@link BukkitCommandOptions.Builder#asyncTabCompletion(Duration)}.
+ */
+final class AsyncTabCompleteListener implements Listener {
+
+    private static final String EVENT_CLASS = "com.destroystokyo.paper.event.server.AsyncTabCompleteEvent";
+
+    private final CommandMap commandMap;
+    private final long timeoutNanos;
+
+    AsyncTabCompleteListener(final @NotNull CommandMap commandMap, final @NotNull Duration timeout) {
+        this.commandMap = commandMap;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * @return Whether the server fires {@link AsyncTabCompleteEvent}, which only exists on Paper and its forks.
+     */
+    static boolean isSupported() {
+        try {
+            Class.forName(EVENT_CLASS);
+            return true;
+        } catch (final ClassNotFoundException ignored) {
+            return false;
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onAsyncTabComplete(final @NotNull AsyncTabCompleteEvent event) {
+        if (event.isHandled() || !event.isCommand()) return;
+
+        final String buffer = event.getBuffer();
+        final int start = buffer.startsWith("/") ? 1 : 0;
+
+        // Still typing the command's name, which Bukkit completes on its own
+        final int space = buffer.indexOf(' ', start);
+        if (space == -1) return;
+
+        final Command command = commandMap.getCommand(buffer.substring(start, space));
+        if (!(command instanceof BukkitCommand)) return;
+
+        // Keep the trailing empty argument, it's the one being completed
+        final String[] args = buffer.substring(space + 1).split(" ", -1);
+
+        // The event runs on a network thread shared by many connections, so the wait is bounded
+        final CompletableFuture<List<String>> future = ((BukkitCommand<?>) command).tabCompleteAsync(event.getSender(), args)
+                .toCompletableFuture();
+        List<String> completions;
+        try {
+            completions = future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException | CancellationException e) {
+            // Too slow, or a newer keystroke replaced this request, the client would throw the result away anyway
+            future.cancel(true);
+            completions = Collections.emptyList();
+        } catch (final InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return;
+        } catch (final ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+
+        event.setCompletions(completions);
+        event.setHandled(true);
+    }
+}
@@ -33,17 +33,23 @@ import org.jetbrains.annotations.NotNull;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 final class BukkitCommand<S> extends Command {
 
     private final InternalRootCommand<CommandSender, S, String> rootCommand;
     private final SenderExtension<CommandSender, S> senderExtension;
+    private final PermissionCache permissionCache;
 
-    BukkitCommand(final @NotNull RootCommandProcessor<CommandSender, S, String> processor) {
+    BukkitCommand(
+            final @NotNull RootCommandProcessor<CommandSender, S, String> processor,
+            final @NotNull PermissionCache permissionCache
+    ) {
         super(processor.getName(), "", "", processor.getAliases());
 
         this.rootCommand = new InternalRootCommand<>(processor);
         this.senderExtension = processor.getCommandOptions().getCommandExtensions().getSenderExtension();
+        this.permissionCache = permissionCache;
     }
 
     @Override
@@ -65,7 +71,24 @@ final class BukkitCommand<S> extends Command {
             final @NotNull String alias,
             final @NotNull String[] args
     ) {
-        return rootCommand.suggestions(senderExtension.map(sender), new ArrayDeque<>(Arrays.asList(args)));
+        // Reads the arguments into buffers reused by the thread, instead of copying them on every keystroke
+        return permissionCache.completing(() -> rootCommand.suggestions(senderExtension.map(sender), args));
+    }
+
+    /**
+     * Completes the arguments like {@link #tabComplete(CommandSender, String, String[])}, without blocking on asynchronous suggestions.
+     *
+     * @param sender The sender completing the command.
+     * @param args   The typed arguments.
+     * @return A stage completing with the suggestions.
+     */
+    @NotNull CompletionStage<List<String>> tabCompleteAsync(
+            final @NotNull CommandSender sender,
+            final @NotNull String[] args
+    ) {
+        return permissionCache.completing(
+                () -> rootCommand.suggestionsAsync(senderExtension.map(sender), new ArrayDeque<>(Arrays.asList(args)))
+        );
     }
 
     public @NotNull InternalRootCommand<CommandSender, S, String> getRootCommand() {
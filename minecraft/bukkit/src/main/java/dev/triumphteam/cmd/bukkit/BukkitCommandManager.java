@@ -47,6 +47,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -78,6 +79,18 @@ public final class BukkitCommandManager<S> extends CommandManager<BukkitCommandM
         registerArgument(World.class, (sender, arg) -> Bukkit.getWorld(arg));
 
         registerSuggestion(Player.class, (context) -> Bukkit.getOnlinePlayers().stream().map(Player::getName).collect(Collectors.toList()));
+
+        // Prefetches suggestions when players join, and drops what was cached for them when their permissions change or they quit
+        Bukkit.getPluginManager().registerEvents(
+                new SenderSessionListener<>(plugin, this, commandOptions.getCommandExtensions().getSenderExtension()),
+                plugin
+        );
+
+        // On Paper, completions can be served off the main thread when enabled
+        final Duration asyncTabCompletionTimeout = commandOptions.getAsyncTabCompletionTimeout();
+        if (asyncTabCompletionTimeout != null && AsyncTabCompleteListener.isSupported()) {
+            Bukkit.getPluginManager().registerEvents(new AsyncTabCompleteListener(commandMap, asyncTabCompletionTimeout), plugin);
+        }
     }
 
     /**
@@ -209,6 +222,40 @@ public final class BukkitCommandManager<S> extends CommandManager<BukkitCommandM
         // TODO add a remove functionality
     }
 
+    /**
+     * Forgets which sub commands the sender can see in suggestions, for example after its permissions changed.
+     * Otherwise, the visibility is tested again after a few seconds.
+     *
+     * @param sender The sender to forget.
+     */
+    public void invalidateCommandVisibility(final @NotNull S sender) {
+        commands.values().forEach(command -> command.getRootCommand().invalidateVisibility(sender));
+    }
+
+    /**
+     * Forgets which sub commands every sender can see in suggestions.
+     */
+    public void invalidateCommandVisibility() {
+        commands.values().forEach(command -> command.getRootCommand().invalidateVisibility());
+    }
+
+    /**
+     * Forgets the command permissions cached for the sender's tab completions.
+     * This already happens when a player is sent their commands again and when they quit, otherwise the results expire after a few seconds.
+     *
+     * @param sender The sender to forget.
+     */
+    public void invalidatePermissions(final @NotNull CommandSender sender) {
+        getCommandOptions().getPermissionCache().invalidate(sender);
+    }
+
+    /**
+     * Forgets the command permissions cached for every sender.
+     */
+    public void invalidatePermissions() {
+        getCommandOptions().getPermissionCache().invalidateAll();
+    }
+
     private @NotNull BukkitCommand<S> createAndRegisterCommand(
             final @NotNull RootCommandProcessor<CommandSender, S, String> processor,
             final @NotNull String name
@@ -220,7 +267,7 @@ public final class BukkitCommandManager<S> extends CommandManager<BukkitCommandM
             oldCommand.unregister(commandMap);
         }
 
-        final BukkitCommand<S> newCommand = new BukkitCommand<>(processor);
+        final BukkitCommand<S> newCommand = new BukkitCommand<>(processor, getCommandOptions().getPermissionCache());
         commandMap.register(plugin.getName(), newCommand);
         return newCommand;
     }
@@ -31,21 +31,41 @@ import dev.triumphteam.cmd.core.extension.sender.SenderExtension;
 import org.bukkit.command.CommandSender;
 import org.bukkit.permissions.PermissionDefault;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.List;
 
 public final class BukkitCommandOptions<S> extends CommandOptions<BukkitCommandOptions<S>, BukkitCommandManager<S>, CommandSender, S, String> {
 
+    private final PermissionCache permissionCache;
+    private final Duration asyncTabCompletionTimeout;
+
     public BukkitCommandOptions(
             final @NotNull SenderExtension<CommandSender, S> senderExtension,
             final @NotNull Builder<S> builder
     ) {
         super(senderExtension, builder);
+        this.permissionCache = builder.permissionCache;
+        this.asyncTabCompletionTimeout = builder.asyncTabCompletionTimeout;
+    }
+
+    @NotNull PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+
+    /**
+     * @return How long Paper's asynchronous tab completion waits for suggestions, or null if it's disabled.
+     */
+    @Nullable Duration getAsyncTabCompletionTimeout() {
+        return asyncTabCompletionTimeout;
     }
 
     public static final class Builder<S> extends CommandOptions.Builder<Builder<S>, BukkitCommandManager<S>, BukkitCommandOptions<S>, CommandSender, S, String> {
 
         private CommandPermission globalPermission = null;
+        private final PermissionCache permissionCache = new PermissionCache();
+        private Duration asyncTabCompletionTimeout = null;
 
         public Builder() {
             // Setters have to be done first thing, so they can be overridden.
@@ -88,9 +108,22 @@ public final class BukkitCommandOptions<S> extends CommandOptions<BukkitCommandO
             return setGlobalPermission(new CommandPermission(nodes, description, permissionDefault));
         }
 
+        /**
+         * Completes commands from Paper's asynchronous tab complete event, off the main thread.
+         * Every suggestion resolver and requirement then runs on Paper's network threads, so they must be thread safe.
+         * Has no effect on servers without the event.
+         *
+         * @param timeout How long a completion is waited for before nothing is suggested.
+         * @return This {@link Builder}.
+         */
+        public Builder<S> asyncTabCompletion(final @NotNull Duration timeout) {
+            this.asyncTabCompletionTimeout = timeout;
+            return this;
+        }
+
         @NotNull BukkitCommandOptions<S> build(final @NotNull SenderExtension<CommandSender, S> senderExtension) {
             // Add permissions
-            extensions(extension -> extension.addProcessor(new PermissionProcessor<>(globalPermission)));
+            extensions(extension -> extension.addProcessor(new PermissionProcessor<>(globalPermission, permissionCache)));
 
             return new BukkitCommandOptions<>(senderExtension, this);
         }
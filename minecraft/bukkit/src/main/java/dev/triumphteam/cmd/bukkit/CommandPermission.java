@@ -119,7 +119,10 @@ public final class CommandPermission {
      * @return Whether the sender has permission to run the command.
      */
     public boolean hasPermission(final @NotNull CommandSender sender) {
-        return nodes.stream().anyMatch(sender::hasPermission);
+        for (final String node : nodes) {
+            if (sender.hasPermission(node)) return true;
+        }
+        return false;
     }
 
     @Override
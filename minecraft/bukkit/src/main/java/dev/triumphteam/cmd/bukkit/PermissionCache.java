@@ -0,0 +1,110 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.bukkit;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which {@link CommandPermission}s each player has, for a few seconds.
+ * Tab completion tests the permission of every visible sub command on each key press,
+ * and permission plugins can make each of those checks expensive.
+ * The cache is only used while completing, executing a command always checks the permission live.
+ * Only players are cached, the results are dropped when they expire, when the player is sent their commands again and when they quit.
+ */
+final class PermissionCache {
+
+    // Not every permission change makes Bukkit resend the commands, so results can't be trusted for long
+    private static final long PERMISSION_TTL = TimeUnit.SECONDS.toNanos(5);
+
+    private final Map<CommandSender, Map<CommandPermission, Result>> results = new WeakHashMap<>();
+    private final ThreadLocal<Boolean> completing = new ThreadLocal<>();
+
+    /**
+     * Runs the completion with the cache enabled on the current thread.
+     *
+     * @param completion The completion to run.
+     * @return The result of the completion.
+     */
+    <T> T completing(final @NotNull Supplier<T> completion) {
+        final Boolean previous = completing.get();
+        completing.set(Boolean.TRUE);
+        try {
+            return completion.get();
+        } finally {
+            if (previous == null) completing.remove();
+            else completing.set(previous);
+        }
+    }
+
+    boolean hasPermission(final @NotNull CommandSender sender, final @NotNull CommandPermission permission) {
+        // Other senders have no events telling when their permissions change
+        if (!(sender instanceof Player) || completing.get() == null) return permission.hasPermission(sender);
+
+        final long now = System.nanoTime();
+        synchronized (results) {
+            final Map<CommandPermission, Result> cached = results.get(sender);
+            if (cached != null) {
+                final Result result = cached.get(permission);
+                if (result != null && now - result.expiresAt < 0) return result.value;
+            }
+        }
+
+        final boolean value = permission.hasPermission(sender);
+        synchronized (results) {
+            results.computeIfAbsent(sender, it -> new HashMap<>()).put(permission, new Result(value, now + PERMISSION_TTL));
+        }
+        return value;
+    }
+
+    void invalidate(final @NotNull CommandSender sender) {
+        synchronized (results) {
+            results.remove(sender);
+        }
+    }
+
+    void invalidateAll() {
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    private static final class Result {
+
+        private final boolean value;
+        private final long expiresAt;
+
+        private Result(final boolean value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -38,9 +38,11 @@ import java.util.Arrays;
 final class PermissionProcessor<S> implements Processor<CommandSender, S> {
 
     private final CommandPermission globalPermission;
+    private final PermissionCache permissionCache;
 
-    public PermissionProcessor(final @Nullable CommandPermission globalPermission) {
+    public PermissionProcessor(final @Nullable CommandPermission globalPermission, final @NotNull PermissionCache permissionCache) {
         this.globalPermission = globalPermission;
+        this.permissionCache = permissionCache;
     }
 
     @Override
@@ -77,7 +79,7 @@ final class PermissionProcessor<S> implements Processor<CommandSender, S> {
         }
 
         meta.add(Permission.META_KEY, permission);
-        settingsBuilder.addRequirement(new PermissionRequirement<>(permission));
+        settingsBuilder.addRequirement(new PermissionRequirement<>(permission, permissionCache));
     }
 
     private @Nullable CommandPermission permissionRecursively(
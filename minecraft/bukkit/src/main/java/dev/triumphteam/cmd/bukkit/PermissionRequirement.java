@@ -35,9 +35,11 @@ import org.jetbrains.annotations.NotNull;
 final class PermissionRequirement<S> implements Requirement<CommandSender, S> {
 
     private final CommandPermission permission;
+    private final PermissionCache permissionCache;
 
-    public PermissionRequirement(final @NotNull CommandPermission permission) {
+    public PermissionRequirement(final @NotNull CommandPermission permission, final @NotNull PermissionCache permissionCache) {
         this.permission = permission;
+        this.permissionCache = permissionCache;
     }
 
     @Override
@@ -46,7 +48,7 @@ final class PermissionRequirement<S> implements Requirement<CommandSender, S> {
             final @NotNull CommandMeta meta,
             final @NotNull SenderMapper<CommandSender, S> senderMapper
     ) {
-        return permission.hasPermission(senderMapper.mapBackwards(sender));
+        return permissionCache.hasPermission(senderMapper.mapBackwards(sender), permission);
     }
 
     @Override
@@ -0,0 +1,98 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.bukkit;
+
+import dev.triumphteam.cmd.core.extension.sender.SenderExtension;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Starts and ends the suggestion session of players.
+ * Prefetchable suggestions are resolved asynchronously when a player joins, and everything cached for them is dropped when they quit,
+ * including a prefetch that is still running.
+ * Their cached permissions and command visibility are also dropped whenever they're sent their commands again,
+ * which Bukkit does on some permission changes but not all, so both caches also expire on their own.
+ */
+final class SenderSessionListener<S> implements Listener {
+
+    private final BukkitCommandManager<S> commandManager;
+    private final SenderExtension<CommandSender, S> senderExtension;
+    private final Executor executor;
+
+    // The prefetches still running, cancelled if the player quits before they're done
+    private final Map<UUID, CompletableFuture<Void>> prefetches = new ConcurrentHashMap<>();
+
+    SenderSessionListener(
+            final @NotNull Plugin plugin,
+            final @NotNull BukkitCommandManager<S> commandManager,
+            final @NotNull SenderExtension<CommandSender, S> senderExtension
+    ) {
+        this.commandManager = commandManager;
+        this.senderExtension = senderExtension;
+        this.executor = task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(final @NotNull PlayerJoinEvent event) {
+        final UUID uuid = event.getPlayer().getUniqueId();
+        final CompletableFuture<Void> prefetch = commandManager.prefetchSuggestions(senderExtension.map(event.getPlayer()), executor);
+        if (prefetch.isDone()) return;
+
+        prefetches.put(uuid, prefetch);
+        prefetch.whenComplete((ignored, error) -> prefetches.remove(uuid, prefetch));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(final @NotNull PlayerQuitEvent event) {
+        final CompletableFuture<Void> prefetch = prefetches.remove(event.getPlayer().getUniqueId());
+        if (prefetch != null) prefetch.cancel(true);
+
+        final S sender = senderExtension.map(event.getPlayer());
+        commandManager.invalidatePermissions(event.getPlayer());
+        commandManager.invalidateSenderSuggestions(sender);
+        commandManager.invalidateSenderRequirements(sender);
+        commandManager.invalidateCommandVisibility(sender);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onCommandSend(final @NotNull PlayerCommandSendEvent event) {
+        // Sent again on op changes and plugin reloads, but not when attachments change or expire
+        commandManager.invalidatePermissions(event.getPlayer());
+        commandManager.invalidateCommandVisibility(senderExtension.map(event.getPlayer()));
+    }
+}
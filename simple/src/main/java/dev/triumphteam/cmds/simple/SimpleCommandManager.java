@@ -31,10 +31,12 @@ import dev.triumphteam.cmd.core.extension.sender.SenderExtension;
 import dev.triumphteam.cmd.core.message.MessageKey;
 import dev.triumphteam.cmd.core.message.context.InvalidCommandContext;
 import dev.triumphteam.cmd.core.processor.RootCommandProcessor;
+import dev.triumphteam.cmd.core.util.CommandLine;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -87,6 +89,19 @@ public final class SimpleCommandManager<S> extends CommandManager<SimpleCommandM
         // TODO add a remove functionality
     }
 
+    /**
+     * Execute the command from a raw command line, splitting it with the configured lexer.
+     * Quoted arguments are kept together, so {@code give "diamond sword"} has a single argument.
+     *
+     * @param sender      The provided sender.
+     * @param commandLine The raw command line, without any prefix.
+     */
+    public void executeCommand(final @NotNull S sender, final @NotNull String commandLine) {
+        final CommandLine line = getCommandOptions().getLexer().lex(commandLine);
+        if (line.isEmpty()) return;
+        executeCommand(sender, line.get(0), line.toDeque(1));
+    }
+
     /**
      * Execute the commands given the passed arguments.
      *
@@ -95,8 +110,10 @@ public final class SimpleCommandManager<S> extends CommandManager<SimpleCommandM
      */
     public void executeCommand(final @NotNull S sender, final @NotNull List<String> args) {
         if (args.isEmpty()) return;
-        final String commandName = args.get(0);
+        executeCommand(sender, args.get(0), new ArrayDeque<>(args.subList(1, args.size())));
+    }
 
+    private void executeCommand(final @NotNull S sender, final @NotNull String commandName, final @NotNull Deque<String> args) {
         final InternalRootCommand<S, S, String> command = commands.get(commandName);
         if (command == null) {
             getRegistryContainer().getMessageRegistry().sendMessage(
@@ -108,6 +125,6 @@ public final class SimpleCommandManager<S> extends CommandManager<SimpleCommandM
             return;
         }
 
-        command.execute(sender, new ArrayDeque<>(args.subList(1, args.size())));
+        command.execute(sender, args);
     }
 }
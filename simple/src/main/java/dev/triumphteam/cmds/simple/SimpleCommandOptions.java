@@ -25,10 +25,19 @@ package dev.triumphteam.cmds.simple;
 
 import dev.triumphteam.cmd.core.extension.CommandOptions;
 import dev.triumphteam.cmd.core.extension.sender.SenderExtension;
+import dev.triumphteam.cmd.core.util.CommandLexer;
 import org.jetbrains.annotations.NotNull;
 
 public final class SimpleCommandOptions<S> extends CommandOptions<SimpleCommandOptions<S>, SimpleCommandManager<S>, S, S, String> {
-    public SimpleCommandOptions(final @NotNull SenderExtension<S, S> senderExtension, final @NotNull Builder<?, SimpleCommandManager<S>, SimpleCommandOptions<S>, S, S, String> builder) {
+
+    private final CommandLexer lexer;
+
+    public SimpleCommandOptions(final @NotNull SenderExtension<S, S> senderExtension, final @NotNull SimpleOptionsBuilder<S> builder) {
         super(senderExtension, builder);
+        this.lexer = builder.getLexer();
+    }
+
+    public @NotNull CommandLexer getLexer() {
+        return lexer;
     }
 }
@@ -28,10 +28,14 @@ import dev.triumphteam.cmd.core.extension.defaults.DefaultArgumentValidator;
 import dev.triumphteam.cmd.core.extension.defaults.DefaultCommandExecutor;
 import dev.triumphteam.cmd.core.extension.defaults.DefaultSuggestionMapper;
 import dev.triumphteam.cmd.core.extension.sender.SenderExtension;
+import dev.triumphteam.cmd.core.util.CommandLexer;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 public final class SimpleOptionsBuilder<S> extends CommandOptions.Builder<SimpleOptionsBuilder<S>, SimpleCommandManager<S>, SimpleCommandOptions<S>, S, S, String> {
 
+    private CommandLexer lexer = CommandLexer.defaultLexer();
+
     public SimpleOptionsBuilder() {
         extensions(extension -> {
             extension.setArgumentValidator(new DefaultArgumentValidator<>());
@@ -40,6 +44,22 @@ public final class SimpleOptionsBuilder<S> extends CommandOptions.Builder<Simple
         });
     }
 
+    /**
+     * Sets the lexer used to split raw command lines into arguments.
+     *
+     * @param lexer The {@link CommandLexer} to use.
+     * @return This builder.
+     */
+    @Contract("_ -> this")
+    public @NotNull SimpleOptionsBuilder<S> lexer(final @NotNull CommandLexer lexer) {
+        this.lexer = lexer;
+        return this;
+    }
+
+    @NotNull CommandLexer getLexer() {
+        return lexer;
+    }
+
     @NotNull SimpleCommandOptions<S> build(final @NotNull SenderExtension<S, S> senderExtension) {
         return new SimpleCommandOptions<>(senderExtension, this);
     }